@@ -0,0 +1,54 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each DefaultAbilityExecutor ability, reached through GameEngine.processTurn
+ * and undone afterwards so charges and boards stay as set up. Compare with
+ * EngineBench's NEO_RETRO shot for the engine's share.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class AbilityBench {
+	@Param({"EMP", "MULTISHOT_AUTO", "MULTISHOT_MANUAL", "SHIELD", "SONAR"})
+	public String ability;
+
+	@Param({"40"})
+	public int turnsPlayed;
+
+	private GameEngine engine;
+	private UseAbilityAction action;
+
+	@Setup
+	public void setup() {
+		engine = Fixtures.midGame(GameConfig.neoRetroDefault(), turnsPlayed);
+		PlayerState user = engine.getGameState().getCurrentPlayer();
+		List<Coordinate> open = Fixtures.unknownCells(user.getTrackingBoard());
+		action = switch (ability) {
+			case "EMP" -> new UseAbilityAction(AbilityType.EMP, new AbilityTarget(null, 0));
+			case "MULTISHOT_AUTO" -> new UseAbilityAction(AbilityType.MULTISHOT, new AbilityTarget(null, 3));
+			case "MULTISHOT_MANUAL" -> new UseAbilityAction(AbilityType.MULTISHOT, new AbilityTarget(open.subList(0, 3)));
+			case "SHIELD" -> new UseAbilityAction(AbilityType.SHIELD,
+					new AbilityTarget(user.getOwnBoard().getShips().get(0).getCoordinates().get(0), 0));
+			case "SONAR" -> new UseAbilityAction(AbilityType.SONAR, new AbilityTarget(Coordinate.of(4, 4), 0));
+			default -> throw new IllegalArgumentException("Unknown ability " + ability);
+		};
+		TurnResult probe = engine.processTurn(action);
+		engine.undo();
+		if (probe.events().stream().anyMatch(e -> e instanceof TurnEvent.Rejected)) {
+			throw new IllegalStateException(ability + " was rejected: " + probe.events());
+		}
+	}
+
+	@Benchmark
+	public TurnResult execute() {
+		TurnResult result = engine.processTurn(action);
+		engine.undo();
+		return result;
+	}
+}
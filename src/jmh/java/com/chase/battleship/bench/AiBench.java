@@ -0,0 +1,41 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.ai.DecisionTreeAI;
+import com.chase.battleship.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DecisionTreeAI.chooseAction on an opening, a mid-game and a late position.
+ * After 120 turns each side has 40 unknown cells left, which puts the endgame
+ * solver in play.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AiBench {
+	@Param({"CLASSIC", "NEO_RETRO"})
+	public GameMode mode;
+
+	@Param({"0", "40", "120"})
+	public int turnsPlayed;
+
+	private GameState state;
+	private boolean player1;
+	private DecisionTreeAI ai;
+
+	@Setup
+	public void setup() {
+		GameConfig config = mode.isNeoRetro() ? GameConfig.neoRetroDefault() : GameConfig.classic();
+		state = Fixtures.midGame(config, turnsPlayed).getGameState();
+		player1 = state.getCurrentPlayer() == state.getPlayer1();
+		ai = new DecisionTreeAI(new SplittableRandom(Fixtures.SEED));
+	}
+
+	@Benchmark
+	public TurnAction chooseAction() {
+		return ai.chooseAction(state, player1);
+	}
+}
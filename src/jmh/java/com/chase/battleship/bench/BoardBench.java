@@ -0,0 +1,80 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.core.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Board primitives on a classic 10x10 board. fireSweep includes one
+ * Board.copy() per 100 shots; copy on its own is the baseline to subtract.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class BoardBench {
+	private static final int CELLS = 100;
+
+	private GameConfig config;
+	private Board fleet;
+	private Board sunk;
+	private SplittableRandom random;
+
+	@Setup
+	public void setup() {
+		config = GameConfig.classic();
+		fleet = Fixtures.fleet(config);
+		sunk = fleet.copy();
+		for (Ship ship : sunk.getShips()) {
+			for (Coordinate c : ship.getCoordinates()) {
+				sunk.fireAt(c);
+			}
+		}
+		random = new SplittableRandom(Fixtures.SEED);
+		assert config.getRows() * config.getCols() == CELLS;
+	}
+
+	@Benchmark
+	public Board copy() {
+		return fleet.copy();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CELLS)
+	public void fireSweep(Blackhole bh) {
+		Board board = fleet.copy();
+		for (int r = 0; r < fleet.getRows(); r++) {
+			for (int c = 0; c < fleet.getCols(); c++) {
+				bh.consume(board.fireAt(Coordinate.of(r, c)));
+			}
+		}
+	}
+
+	// every start cell in both orientations
+	@Benchmark
+	@OperationsPerInvocation(2 * CELLS)
+	public void canPlaceShip(Blackhole bh) {
+		for (int r = 0; r < fleet.getRows(); r++) {
+			for (int c = 0; c < fleet.getCols(); c++) {
+				Coordinate start = Coordinate.of(r, c);
+				bh.consume(fleet.canPlaceShip(ShipType.CARRIER, start, true));
+				bh.consume(fleet.canPlaceShip(ShipType.CARRIER, start, false));
+			}
+		}
+	}
+
+	@Benchmark
+	public void allShipsSunkByGrid(Blackhole bh) {
+		bh.consume(fleet.allShipsSunkByGrid());
+		bh.consume(sunk.allShipsSunkByGrid());
+	}
+
+	@Benchmark
+	public Board randomFleetPlacement() {
+		Board board = new Board(config.getRows(), config.getCols());
+		BoardUtils.randomFleetPlacement(board, random);
+		return board;
+	}
+}
@@ -0,0 +1,43 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One fired shot through GameEngine.processTurn, undone afterwards, so every
+ * invocation plays from the same mid-game position. Undo is part of the cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EngineBench {
+	@Param({"CLASSIC", "NEO_RETRO"})
+	public GameMode mode;
+
+	@Param({"0", "40"})
+	public int turnsPlayed;
+
+	private GameEngine engine;
+	private FireAction[] shots;
+	private int next;
+
+	@Setup
+	public void setup() {
+		GameConfig config = mode.isNeoRetro() ? GameConfig.neoRetroDefault() : GameConfig.classic();
+		engine = Fixtures.midGame(config, turnsPlayed);
+		List<Coordinate> open = Fixtures.unknownCells(engine.getGameState().getCurrentPlayer().getTrackingBoard());
+		shots = open.stream().map(FireAction::new).toArray(FireAction[]::new);
+	}
+
+	@Benchmark
+	public TurnResult processTurn() {
+		FireAction shot = shots[next];
+		next = next + 1 == shots.length ? 0 : next + 1;
+		TurnResult result = engine.processTurn(shot);
+		engine.undo();
+		return result;
+	}
+}
@@ -0,0 +1,57 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.core.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Seeded positions shared by the benchmarks, so every run measures the same games. */
+final class Fixtures {
+	static final long SEED = 42;
+
+	private Fixtures() {}
+
+	/**
+	 * A game with both fleets placed and turns random shots fired, alternating
+	 * sides. Only shots are played, so every ability is still charged. Undo
+	 * recording is on: a benchmark can process a turn and undo it to measure
+	 * the same position again.
+	 */
+	static GameEngine midGame(GameConfig config, int turns) {
+		MatchRandom random = new MatchRandom(SEED);
+		Board b1 = new Board(config.getRows(), config.getCols());
+		Board b2 = new Board(config.getRows(), config.getCols());
+		BoardUtils.randomFleetPlacement(b1, random.fleet(true));
+		BoardUtils.randomFleetPlacement(b2, random.fleet(false));
+		GameState state = new GameState(config,
+				new PlayerState("P1", b1, config), new PlayerState("P2", b2, config));
+		GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
+
+		SplittableRandom shots = new SplittableRandom(SEED);
+		for (int t = 0; t < turns && !state.isGameOver(); t++) {
+			List<Coordinate> open = unknownCells(state.getCurrentPlayer().getTrackingBoard());
+			engine.processTurn(new FireAction(open.get(shots.nextInt(open.size()))));
+		}
+		if (state.isGameOver()) {
+			throw new IllegalStateException("Fixture game ended after " + turns + " turns");
+		}
+		engine.setUndoable(true);
+		return engine;
+	}
+
+	static List<Coordinate> unknownCells(Board tracking) {
+		BitGrid unknown = tracking.unknownCells();
+		List<Coordinate> cells = new ArrayList<>(unknown.cardinality());
+		for (int i = unknown.nextSetBit(0); i >= 0; i = unknown.nextSetBit(i + 1)) {
+			cells.add(tracking.coordinateAt(i));
+		}
+		return cells;
+	}
+
+	static Board fleet(GameConfig config) {
+		Board board = new Board(config.getRows(), config.getCols());
+		BoardUtils.randomFleetPlacement(board, new SplittableRandom(SEED));
+		return board;
+	}
+}
@@ -0,0 +1,43 @@
+package com.chase.battleship.bench;
+
+import com.chase.battleship.core.*;
+import com.chase.battleship.net.NetUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** NetUtil's text encoding of the actions that cross the wire every turn. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class ProtocolBench {
+	@Param({"FIRE", "MULTISHOT_AUTO", "MULTISHOT_MANUAL", "SONAR"})
+	public String kind;
+
+	private TurnAction action;
+	private String line;
+
+	@Setup
+	public void setup() {
+		action = switch (kind) {
+			case "FIRE" -> new FireAction(Coordinate.of(7, 3));
+			case "MULTISHOT_AUTO" -> new UseAbilityAction(AbilityType.MULTISHOT, new AbilityTarget(null, 3));
+			case "MULTISHOT_MANUAL" -> new UseAbilityAction(AbilityType.MULTISHOT,
+					new AbilityTarget(List.of(Coordinate.of(1, 2), Coordinate.of(3, 4), Coordinate.of(5, 6))));
+			case "SONAR" -> new UseAbilityAction(AbilityType.SONAR, new AbilityTarget(Coordinate.of(4, 4), 0));
+			default -> throw new IllegalArgumentException("Unknown action " + kind);
+		};
+		line = NetUtil.encodeAction(action);
+	}
+
+	@Benchmark
+	public String encodeAction() {
+		return NetUtil.encodeAction(action);
+	}
+
+	@Benchmark
+	public TurnAction decodeAction() {
+		return NetUtil.decodeAction(line);
+	}
+}
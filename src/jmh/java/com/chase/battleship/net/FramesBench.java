@@ -0,0 +1,84 @@
+package com.chase.battleship.net;
+
+import com.chase.battleship.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BinaryFrames' move and update frames, for the same actions as ProtocolBench
+ * times in the text encoding. Lives in the net package because BinaryFrames is
+ * package-private. Frames go to and come from in-memory streams that are
+ * reused, so only the framing itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class FramesBench {
+	private static final String MESSAGE = "Hit at (7,3)!";
+	private static final long HASH = 0x1234567890abcdefL;
+
+	@Param({"FIRE", "MULTISHOT_AUTO", "MULTISHOT_MANUAL", "SONAR"})
+	public String kind;
+
+	private final BinaryFrames frames = new BinaryFrames();
+	private final ByteArrayOutputStream sink = new ByteArrayOutputStream(256);
+	private TurnAction action;
+	private ByteArrayInputStream moveBytes;
+	private DataInputStream moveIn;
+	private ByteArrayInputStream updateBytes;
+	private DataInputStream updateIn;
+
+	@Setup
+	public void setup() throws IOException {
+		action = switch (kind) {
+			case "FIRE" -> new FireAction(Coordinate.of(7, 3));
+			case "MULTISHOT_AUTO" -> new UseAbilityAction(AbilityType.MULTISHOT, new AbilityTarget(null, 3));
+			case "MULTISHOT_MANUAL" -> new UseAbilityAction(AbilityType.MULTISHOT,
+					new AbilityTarget(List.of(Coordinate.of(1, 2), Coordinate.of(3, 4), Coordinate.of(5, 6))));
+			case "SONAR" -> new UseAbilityAction(AbilityType.SONAR, new AbilityTarget(Coordinate.of(4, 4), 0));
+			default -> throw new IllegalArgumentException("Unknown action " + kind);
+		};
+		frames.sendMove(sink, action);
+		moveBytes = new ByteArrayInputStream(sink.toByteArray());
+		moveIn = new DataInputStream(moveBytes);
+		sink.reset();
+		frames.sendUpdate(sink, action, MESSAGE, 0, HASH);
+		updateBytes = new ByteArrayInputStream(sink.toByteArray());
+		updateIn = new DataInputStream(updateBytes);
+	}
+
+	@Benchmark
+	public int encodeMove() throws IOException {
+		sink.reset();
+		frames.sendMove(sink, action);
+		return sink.size();
+	}
+
+	@Benchmark
+	public TurnAction decodeMove() throws IOException {
+		moveBytes.reset();
+		frames.next(moveIn);
+		return frames.readMove();
+	}
+
+	@Benchmark
+	public int encodeUpdate() throws IOException {
+		sink.reset();
+		frames.sendUpdate(sink, action, MESSAGE, 0, HASH);
+		return sink.size();
+	}
+
+	// Object, since JMH's generated code can't name the package-private record
+	@Benchmark
+	public Object decodeUpdate() throws IOException {
+		updateBytes.reset();
+		frames.next(updateIn);
+		return frames.readUpdate();
+	}
+}
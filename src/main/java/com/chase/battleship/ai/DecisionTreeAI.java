@@ -2,12 +2,27 @@ package com.chase.battleship.ai;
 
 import com.chase.battleship.core.*;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class DecisionTreeAI implements PlayerAgent {
-	private final Random random = new Random();
+	private final RandomGenerator random;
+	private final int endgameThreshold;
+	private BitGrid checkerboard;
+
+	public DecisionTreeAI() {
+		this(new SplittableRandom());
+	}
+
+	public DecisionTreeAI(RandomGenerator random) {
+		this(random, EndgameSolver.DEFAULT_THRESHOLD);
+	}
+
+	/** endgameThreshold: open cells at or below which shots come from EndgameSolver; 0 turns it off. */
+	public DecisionTreeAI(RandomGenerator random, int endgameThreshold) {
+		this.random = random;
+		this.endgameThreshold = endgameThreshold;
+	}
 
 	@Override
 	public TurnAction chooseAction(GameState gameState, boolean isSelfPlayer1) {
@@ -26,6 +41,12 @@ public class DecisionTreeAI implements PlayerAgent {
 		return new FireAction(target);
 	}
 
+	/** Classic games only fire from the tracking board; abilities also read the own fleet. */
+	@Override
+	public boolean isViewOnly(GameConfig config) {
+		return !config.getGameMode().isNeoRetro();
+	}
+
 	private TurnAction maybeUseAbility(GameState gameState, PlayerState me, PlayerState enemy) {
 		if (!gameState.getConfig().getGameMode().isNeoRetro()) {
 			return null;
@@ -40,7 +61,7 @@ public class DecisionTreeAI implements PlayerAgent {
 		int cols = tracking.getCols();
 		int total = rows * cols;
 
-		int unknown = countUnknownCells(tracking);
+		int unknown = tracking.countUnknownCells();
 		double unknownRatio = (double) unknown / total;
 
 		boolean earlyGame = unknownRatio > 0.70;
@@ -87,11 +108,7 @@ public class DecisionTreeAI implements PlayerAgent {
 
 		// 3) EMP: support offensive, mid/late game only, occasional.
 		if (!earlyGame && emp != null && emp.isAvailable()) {
-			int aliveShips = (int) enemy.getOwnBoard()
-					.getShips()
-					.stream()
-					.filter(s -> !s.isSunk())
-					.count();
+			int aliveShips = enemy.getOwnBoard().getShipsRemaining();
 			if (aliveShips >= 3 && random.nextDouble() < 0.30) {
 				return new UseAbilityAction(
 						AbilityType.EMP,
@@ -119,34 +136,16 @@ public class DecisionTreeAI implements PlayerAgent {
 	}
 
 
-	private int countUnknownCells(Board tracking) {
-		int unknown = 0;
-		for(int r = 0; r < tracking.getRows(); r++){
-			for(int c = 0; c < tracking.getCols(); c++) {
-				CellState s = tracking.getCellState(new Coordinate(r,c));
-				if(s == CellState.EMPTY) unknown++;
-			}
+	private Coordinate randomUnknownCoordinate(Board tracking) {
+		BitGrid unknowns = tracking.unknownCells();
+		int count = unknowns.cardinality();
+		if (count == 0) {
+			// fallback: middle of board
+			return Coordinate.of(tracking.getRows() / 2, tracking.getCols() / 2);
 		}
-		return unknown;
+		return tracking.coordinateAt(unknowns.nthSetBit(random.nextInt(count)));
 	}
 
-	private Coordinate randomUnknownCoordinate(Board tracking) {
-    List<Coordinate> unknowns = new ArrayList<>();
-    for (int r = 0; r < tracking.getRows(); r++) {
-        for (int c = 0; c < tracking.getCols(); c++) {
-            Coordinate coord = new Coordinate(r, c);
-            if (tracking.getCellState(coord) == CellState.EMPTY) {
-                unknowns.add(coord);
-            }
-        }
-    }
-    if (unknowns.isEmpty()) {
-        // fallback: middle of board
-        return new Coordinate(tracking.getRows() / 2, tracking.getCols() / 2);
-    }
-    return unknowns.get(random.nextInt(unknowns.size()));
-}
-
 	private Coordinate findCriticalShipCoordinate(PlayerState me) {
 		// pick any ship that is not sunk ans has > 1 cell
 		return me.getOwnBoard().getShips().stream()
@@ -161,82 +160,44 @@ public class DecisionTreeAI implements PlayerAgent {
 		int rows = tracking.getRows();
 		int cols = tracking.getCols();
 
-		// target mode
-		List<Coordinate> candidates = new ArrayList<>();
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < cols; c++) {
-				Coordinate coord = new Coordinate(r, c);
-				if (tracking.getCellState(coord) == CellState.HIT) {
-					addNeighbors(tracking, coord, candidates);
-				}
-			}
+		// endgame: exact hit probabilities over every layout that still fits
+		EndgameSolver.Solution exact = EndgameSolver.solve(tracking, enemy.getOwnBoard().getShips(), endgameThreshold);
+		if (exact != null) {
+			return exact.target();
 		}
+
+		// target mode: unknown cells next to a hit
+		BitGrid candidates = tracking.hitFrontier();
 		if (!candidates.isEmpty()) {
-			return candidates.get(random.nextInt(candidates.size()));
+			return pickRandom(tracking, candidates);
 		}
 
 		// hunt mode
-		List<Coordinate> huntCells = new ArrayList<>();
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < cols; c++) {
-				if ((r + c) % 2 == 0) {
-					Coordinate coord = new Coordinate(r, c);
-					if (tracking.getCellState(coord) == CellState.EMPTY) {
-						huntCells.add(coord);
-					}
-				}
-			}
-		}
+		BitGrid empties = tracking.unknownCells();
+		BitGrid huntCells = empties.copy().and(checkerboard(rows, cols));
 		if (!huntCells.isEmpty()) {
-			return huntCells.get(random.nextInt(huntCells.size()));
+			return pickRandom(tracking, huntCells);
 		}
 
 		// fallback on empty cell
-		List<Coordinate> empties = new ArrayList<>();
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < cols; c++) {
-				Coordinate coord = new Coordinate(r, c);
-				if (tracking.getCellState(coord) == CellState.EMPTY) {
-					empties.add(coord);
-				}
-			}
-		}
 		if (!empties.isEmpty()) {
-			return empties.get(random.nextInt(empties.size()));
+			return pickRandom(tracking, empties);
 		}
 
 		// failsafe pick random
 		int rr = random.nextInt(rows);
 		int cc = random.nextInt(cols);
-		return new Coordinate(rr, cc);
-}
+		return Coordinate.of(rr, cc);
+	}
 
+	private BitGrid checkerboard(int rows, int cols) {
+		if (checkerboard == null || checkerboard.getRows() != rows || checkerboard.getCols() != cols) {
+			checkerboard = BitGrid.checkerboard(rows, cols, 0);
+		}
+		return checkerboard;
+	}
 
-	private void addNeighbors(Board board, Coordinate hit, List<Coordinate> out) {
-        int r = hit.row();
-        int c = hit.col();
-        int rows = board.getRows();
-        int cols = board.getCols();
-
-        int[][] dirs = {
-                {-1, 0},
-                { 1, 0},
-                { 0,-1},
-                { 0, 1}
-        };
-
-        for (int[] d : dirs) {
-            int nr = r + d[0];
-            int nc = c + d[1];
-
-            if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) {
-                continue;
-            }
-            Coordinate cand = new Coordinate(nr, nc);
-            CellState s = board.getCellState(cand);
-            if (s == CellState.EMPTY && !out.contains(cand)) {
-                out.add(cand);
-            }
-        }
-    }
+	private Coordinate pickRandom(Board board, BitGrid cells) {
+		return board.coordinateAt(cells.nthSetBit(random.nextInt(cells.cardinality())));
+	}
 }
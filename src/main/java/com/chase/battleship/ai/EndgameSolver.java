@@ -0,0 +1,214 @@
+package com.chase.battleship.ai;
+
+import com.chase.battleship.core.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact endgame: once only a few cells can still hold a ship, enumerates every
+ * layout of the afloat fleet that fits the tracking board and fires where the
+ * most layouts put a ship, i.e. at the highest hit probability.
+ *
+ * The open cells are renumbered into a long, so a placement and its no-touch
+ * halo are one mask each. Ships go down longest first, and the layouts below a
+ * (ship, halo so far, hits covered so far) state are counted once and memoized;
+ * identical ships placed in swapped order land on the same state.
+ */
+public final class EndgameSolver {
+	/** Open cells at or below which the agents switch from heuristics to the solver. */
+	public static final int DEFAULT_THRESHOLD = 40;
+	/** Open cells that fit the bitmask encoding. */
+	public static final int MAX_CELLS = 64;
+	// memoized states before giving up; each holds a count per open cell
+	private static final int NODE_LIMIT = 50_000;
+
+	/**
+	 * Best shot and its hit probability, the number of distinct layouts that fit
+	 * and counts[i] of them with a ship on board cell i.
+	 */
+	public record Solution(Coordinate target, double hitProbability, long layouts, long[] counts, long nodes) {}
+
+	private record State(int depth, long halo, long covered) {}
+
+	// layouts below a state, and per open cell how many of them use it
+	private record Tally(long layouts, long[] cells) {}
+
+	private final int m;
+	private final long hits;
+	// [depth][k] placement k of the depth-th ship, and its halo (itself included)
+	private final long[][] placements;
+	private final long[][] halos;
+	private final Map<State, Tally> memo = new HashMap<>();
+	private final Tally leaf;
+	private final Tally none;
+	// returned up the whole search once the memo is full
+	private final Tally tooLarge;
+
+	private EndgameSolver(int m, long hits, long[][] placements, long[][] halos) {
+		this.m = m;
+		this.hits = hits;
+		this.placements = placements;
+		this.halos = halos;
+		this.leaf = new Tally(1, new long[m]);
+		this.none = new Tally(0, new long[m]);
+		this.tooLarge = new Tally(0, new long[m]);
+	}
+
+	/**
+	 * Solves the position if at most threshold cells (and no more than MAX_CELLS)
+	 * can still hold a ship. Null if it is larger, the search outgrows its limit,
+	 * or no layout fits (e.g. a shield hid a hit).
+	 */
+	public static Solution solve(Board tracking, List<Ship> enemyShips, int threshold) {
+		// every open cell is unknown or a hit, and a sunk ship's halo hides at most
+		// 2 * length + 6 unknown cells, so most turns end here without allocating
+		int openAtLeast = tracking.countUnknownCells();
+		for (Ship ship : enemyShips) {
+			if (ship.isSunk()) {
+				openAtLeast -= 2 * ship.getType().getLength() + 6;
+			}
+		}
+		if (openAtLeast > Math.min(threshold, MAX_CELLS)) return null;
+		return solve(FleetConstraints.of(tracking, enemyShips), threshold);
+	}
+
+	static Solution solve(FleetConstraints c, int threshold) {
+		int open = c.openCells();
+		if (open > Math.min(threshold, MAX_CELLS) || c.afloat().length == 0) return null;
+		int rows = c.rows();
+		int cols = c.cols();
+
+		// board cell <-> bit
+		int[] cellOf = new int[open];
+		int[] bitOf = new int[rows * cols];
+		Arrays.fill(bitOf, -1);
+		BitGrid region = c.blocked().copy().invert();
+		int m = 0;
+		for (int i = region.nextSetBit(0); i >= 0; i = region.nextSetBit(i + 1)) {
+			cellOf[m] = i;
+			bitOf[i] = m++;
+		}
+		long hits = 0;
+		for (int i = c.mustCover().nextSetBit(0); i >= 0; i = c.mustCover().nextSetBit(i + 1)) {
+			hits |= 1L << bitOf[i];
+		}
+
+		ShipType[] fleet = c.afloat().clone();
+		Arrays.sort(fleet, (a, b) -> b.getLength() - a.getLength());
+		long[][] placements = new long[fleet.length][];
+		long[][] halos = new long[fleet.length][];
+		for (int d = 0; d < fleet.length; d++) {
+			if (d > 0 && fleet[d].getLength() == fleet[d - 1].getLength()) {
+				placements[d] = placements[d - 1];
+				halos[d] = halos[d - 1];
+				continue;
+			}
+			long[][] both = placementsOf(fleet[d].getLength(), rows, cols, bitOf);
+			placements[d] = both[0];
+			halos[d] = both[1];
+		}
+
+		EndgameSolver solver = new EndgameSolver(m, hits, placements, halos);
+		Tally all = solver.count(0, 0, 0);
+		if (all.layouts == 0) return null;
+
+		// every layout was counted once per ordering of same-length ships
+		long orderings = 1;
+		for (int d = 1, run = 1; d < fleet.length; d++) {
+			run = fleet[d].getLength() == fleet[d - 1].getLength() ? run + 1 : 1;
+			orderings *= run;
+		}
+		long[] counts = new long[rows * cols];
+		int best = -1;
+		for (int b = 0; b < m; b++) {
+			counts[cellOf[b]] = all.cells[b] / orderings;
+			if ((hits >>> b & 1) != 0) continue;
+			if (best < 0 || all.cells[b] > all.cells[best]) {
+				best = b;
+			}
+		}
+		if (best < 0) return null;
+		int cell = cellOf[best];
+		return new Solution(Coordinate.of(cell / cols, cell % cols),
+				(double) all.cells[best] / all.layouts, all.layouts / orderings, counts, solver.memo.size());
+	}
+
+	private Tally count(int depth, long halo, long covered) {
+		if (depth == placements.length) {
+			return (hits & ~covered) == 0 ? leaf : none;
+		}
+		State key = new State(depth, halo, covered & hits);
+		Tally known = memo.get(key);
+		if (known != null) return known;
+		if (memo.size() >= NODE_LIMIT) return tooLarge;
+
+		long layouts = 0;
+		long[] cells = new long[m];
+		long[] ps = placements[depth];
+		long[] hs = halos[depth];
+		for (int k = 0; k < ps.length; k++) {
+			long p = ps[k];
+			if ((p & halo) != 0) continue;
+			long nextHalo = halo | hs[k];
+			long nextCovered = covered | p;
+			// a hit inside the no-touch area that no ship covers can never be covered
+			if ((hits & nextHalo & ~nextCovered) != 0) continue;
+			Tally below = count(depth + 1, nextHalo, nextCovered);
+			if (below == tooLarge) return tooLarge;
+			if (below.layouts == 0) continue;
+			layouts += below.layouts;
+			for (long bits = p; bits != 0; bits &= bits - 1) {
+				cells[Long.numberOfTrailingZeros(bits)] += below.layouts;
+			}
+			for (int b = 0; b < m; b++) {
+				cells[b] += below.cells[b];
+			}
+		}
+		Tally tally = layouts == 0 ? none : new Tally(layouts, cells);
+		memo.put(key, tally);
+		return tally;
+	}
+
+	/** [0] the open-cell masks of every placement of length, [1] their halos. */
+	private static long[][] placementsOf(int length, int rows, int cols, int[] bitOf) {
+		long[] masks = new long[2 * rows * cols];
+		long[] halos = new long[masks.length];
+		int n = 0;
+		for (int horizontal = 1; horizontal >= 0; horizontal--) {
+			// a single cell would otherwise be listed twice
+			if (horizontal == 0 && length == 1) break;
+			int dr = horizontal == 1 ? 0 : 1;
+			int dc = 1 - dr;
+			for (int r = 0; r + dr * (length - 1) < rows; r++) {
+				for (int c = 0; c + dc * (length - 1) < cols; c++) {
+					long mask = 0;
+					long halo = 0;
+					boolean fits = true;
+					for (int i = 0; i < length; i++) {
+						int rr = r + dr * i;
+						int cc = c + dc * i;
+						int bit = bitOf[rr * cols + cc];
+						if (bit < 0) {
+							fits = false;
+							break;
+						}
+						mask |= 1L << bit;
+						for (int hr = Math.max(0, rr - 1); hr <= Math.min(rows - 1, rr + 1); hr++) {
+							for (int hc = Math.max(0, cc - 1); hc <= Math.min(cols - 1, cc + 1); hc++) {
+								int hb = bitOf[hr * cols + hc];
+								if (hb >= 0) halo |= 1L << hb;
+							}
+						}
+					}
+					if (!fits) continue;
+					masks[n] = mask;
+					halos[n++] = halo;
+				}
+			}
+		}
+		return new long[][] { Arrays.copyOf(masks, n), Arrays.copyOf(halos, n) };
+	}
+}
@@ -0,0 +1,47 @@
+package com.chase.battleship.ai;
+
+import com.chase.battleship.core.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What a tracking board says about where the enemy's unsunk ships can be:
+ * blocked cells (misses, sunk ships and their neighbours) and the unresolved
+ * hits some afloat ship must cover.
+ */
+record FleetConstraints(int rows, int cols, ShipType[] afloat, BitGrid blocked, BitGrid mustCover) {
+
+	// which ships sank (and where) is announced to both players
+	static FleetConstraints of(Board tracking, List<Ship> enemyShips) {
+		int rows = tracking.getRows();
+		int cols = tracking.getCols();
+		List<ShipType> afloat = new ArrayList<>(enemyShips.size());
+		BitGrid blocked = new BitGrid(rows, cols);
+		for (Ship ship : enemyShips) {
+			if (!ship.isSunk()) {
+				afloat.add(ship.getType());
+				continue;
+			}
+			for (Coordinate c : ship.getCoordinates()) {
+				for (int r = Math.max(0, c.row() - 1); r <= Math.min(rows - 1, c.row() + 1); r++) {
+					for (int cc = Math.max(0, c.col() - 1); cc <= Math.min(cols - 1, c.col() + 1); cc++) {
+						blocked.set(r * cols + cc);
+					}
+				}
+			}
+		}
+		BitGrid mustCover = tracking.hitCells().andNot(blocked);
+		for (int i = 0; i < rows * cols; i++) {
+			if (tracking.getCellState(i) == CellState.MISS) {
+				blocked.set(i);
+			}
+		}
+		return new FleetConstraints(rows, cols, afloat.toArray(new ShipType[0]), blocked, mustCover);
+	}
+
+	/** Cells an afloat ship could still occupy. */
+	int openCells() {
+		return rows * cols - blocked.cardinality();
+	}
+}
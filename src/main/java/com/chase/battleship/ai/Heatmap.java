@@ -0,0 +1,95 @@
+package com.chase.battleship.ai;
+
+/**
+ * Whole-board placement-density heatmap: slides every afloat ship length along
+ * the rows and columns and adds each legal placement's weight to the cells it
+ * covers. A placement is legal when all its cells are open and weighs
+ * afloat[length] * (1 + hitWeight * unresolved hits it covers).
+ *
+ * Grids are int arrays indexed r * cols + c: open[i] is 1 where a ship may lie
+ * and 0 otherwise, hits[i] is 1 on an unresolved hit. The loops run on Vector
+ * API lanes when jdk.incubator.vector is resolved at startup
+ * (--add-modules jdk.incubator.vector) and the CPU has at least 4 int lanes;
+ * otherwise the scalar loops below give the same numbers.
+ */
+public final class Heatmap {
+	/** True when wide enough boards go through the SIMD loops. */
+	public static final boolean VECTORIZED = vectorAvailable();
+
+	private Heatmap() {}
+
+	private static boolean vectorAvailable() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return false;
+		try {
+			return VectorHeatmap.lanes() >= 4;
+		} catch (LinkageError e) {
+			return false;
+		}
+	}
+
+	// narrower rows are mostly tail and run faster scalar
+	private static boolean vectorize(int cols) {
+		return VECTORIZED && cols >= 2 * VectorHeatmap.lanes();
+	}
+
+	/** Adds horizontal placements of every length, single cells included, to heat. */
+	public static void addHorizontal(int rows, int cols, int[] open, int[] hits, int[] afloat, int hitWeight, int[] heat) {
+		assert open.length == rows * cols && hits.length == open.length && heat.length == open.length;
+		if (vectorize(cols)) {
+			VectorHeatmap.addHorizontal(rows, cols, open, hits, afloat, hitWeight, heat);
+			return;
+		}
+		for (int length = 1; length < afloat.length && length <= cols; length++) {
+			if (afloat[length] == 0) continue;
+			for (int r = 0; r < rows; r++) {
+				int base = r * cols;
+				for (int c = 0; c + length <= cols; c++) {
+					spread(open, hits, base + c, 1, length, afloat[length], hitWeight, heat);
+				}
+			}
+		}
+	}
+
+	/** Adds vertical placements of length 2 and up to heat; single cells count as horizontal. */
+	public static void addVertical(int rows, int cols, int[] open, int[] hits, int[] afloat, int hitWeight, int[] heat) {
+		assert open.length == rows * cols && hits.length == open.length && heat.length == open.length;
+		if (vectorize(cols)) {
+			VectorHeatmap.addVertical(rows, cols, open, hits, afloat, hitWeight, heat);
+			return;
+		}
+		for (int length = 2; length < afloat.length && length <= rows; length++) {
+			if (afloat[length] == 0) continue;
+			for (int r = 0; r + length <= rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					spread(open, hits, r * cols + c, cols, length, afloat[length], hitWeight, heat);
+				}
+			}
+		}
+	}
+
+	/** Placements addHorizontal plus addVertical weigh, for reporting work done. */
+	public static long placements(int rows, int cols, int[] afloat) {
+		long n = 0;
+		for (int length = 1; length < afloat.length; length++) {
+			if (afloat[length] == 0) continue;
+			n += (long) rows * Math.max(0, cols - length + 1);
+			if (length > 1) {
+				n += (long) cols * Math.max(0, rows - length + 1);
+			}
+		}
+		return n;
+	}
+
+	private static void spread(int[] open, int[] hits, int start, int step, int length,
+			int count, int hitWeight, int[] heat) {
+		int hit = 0;
+		for (int i = 0, index = start; i < length; i++, index += step) {
+			if (open[index] == 0) return;
+			hit += hits[index];
+		}
+		int w = count * (1 + hitWeight * hit);
+		for (int i = 0, index = start; i < length; i++, index += step) {
+			heat[index] += w;
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package com.chase.battleship.ai;
+
+import com.chase.battleship.core.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Posterior-sampling agent: draws complete layouts of the enemy's unsunk ships
+ * that fit the tracking board (no ship on a miss or next to a sunk ship, every
+ * unresolved hit covered) and fires at the unknown cell occupied most often.
+ *
+ * Sampling is split across a ForkJoinPool; each task has its own RNG (split off
+ * the agent's) and its own FleetPlacer.Sampler, so workers share nothing but the
+ * read-only constraints. Stops at the sample count or the time budget,
+ * whichever comes first. Once few enough cells are open, EndgameSolver counts
+ * every layout instead. Fires only, no abilities.
+ */
+public class MonteCarloAI implements PlayerAgent {
+	public static final int DEFAULT_SAMPLES = 4000;
+
+	private final ForkJoinPool pool;
+	private final int samples;
+	// 0 = no time limit
+	private final long budgetNanos;
+	private final int endgameThreshold;
+	// split once per worker task per move
+	private final SplittableGenerator random;
+	// used when no consistent layout turns up (e.g. sampling limit hit every time)
+	private final ProbabilityDensityAI fallback;
+	private int lastSampleCount;
+
+	public MonteCarloAI() {
+		this(DEFAULT_SAMPLES, 0);
+	}
+
+	/** budgetMillis of 0 means only the sample count limits a move. */
+	public MonteCarloAI(int samples, long budgetMillis) {
+		this(samples, budgetMillis, new SplittableRandom());
+	}
+
+	public MonteCarloAI(int samples, long budgetMillis, SplittableGenerator random) {
+		this(samples, budgetMillis, ForkJoinPool.commonPool(), EndgameSolver.DEFAULT_THRESHOLD, random);
+	}
+
+	/**
+	 * endgameThreshold: open cells at or below which the exact solver takes over; 0 turns it off.
+	 * Without a time budget the same random and pool size give the same moves.
+	 */
+	public MonteCarloAI(int samples, long budgetMillis, ForkJoinPool pool, int endgameThreshold,
+			SplittableGenerator random) {
+		if (samples <= 0) {
+			throw new IllegalArgumentException("samples must be positive");
+		}
+		this.samples = samples;
+		this.budgetNanos = budgetMillis * 1_000_000L;
+		this.pool = pool;
+		this.endgameThreshold = endgameThreshold;
+		this.random = random;
+		this.fallback = new ProbabilityDensityAI(random.split());
+	}
+
+	/** Consistent layouts drawn for the last move. */
+	public int getLastSampleCount() {
+		return lastSampleCount;
+	}
+
+	@Override
+	public TurnAction chooseAction(GameState gameState, boolean isSelfPlayer1) {
+		long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+		return think(gameState, isSelfPlayer1, deadline).action();
+	}
+
+	/** Samples until the sample count is reached or the tighter of the two budgets runs out. */
+	@Override
+	public ThinkResult chooseAction(GameState gameState, boolean isSelfPlayer1, long budgetMillis) {
+		long budget = budgetMillis * 1_000_000L;
+		if (budgetNanos > 0) {
+			budget = Math.min(budget, budgetNanos);
+		}
+		return think(gameState, isSelfPlayer1, System.nanoTime() + budget);
+	}
+
+	@Override
+	public boolean isViewOnly() {
+		return true;
+	}
+
+	private ThinkResult think(GameState gameState, boolean isSelfPlayer1, long deadline) {
+		long start = System.nanoTime();
+		PlayerState me = gameState.getCurrentPlayer();
+		PlayerState enemy = gameState.getOtherPlayer();
+		Board tracking = me.getTrackingBoard();
+		int rows = tracking.getRows();
+		int cols = tracking.getCols();
+		FleetConstraints constraints = FleetConstraints.of(tracking, enemy.getOwnBoard().getShips());
+		ShipType[] fleet = constraints.afloat();
+		BitGrid blocked = constraints.blocked();
+		BitGrid mustCover = constraints.mustCover();
+
+		lastSampleCount = 0;
+		if (fleet.length == 0) {
+			return fallback(gameState, isSelfPlayer1, start, 0, true);
+		}
+
+		EndgameSolver.Solution exact = EndgameSolver.solve(constraints, endgameThreshold);
+		if (exact != null) {
+			lastSampleCount = (int) Math.min(Integer.MAX_VALUE, exact.layouts());
+			return new ThinkResult(new FireAction(exact.target()),
+					exact.layouts(), exact.nodes(), System.nanoTime() - start, true);
+		}
+
+		int workers = Math.max(1, Math.min(pool.getParallelism(), samples));
+		List<ForkJoinTask<Tally>> tasks = new ArrayList<>(workers);
+		for (int w = 0; w < workers; w++) {
+			int quota = samples / workers + (w < samples % workers ? 1 : 0);
+			SplittableGenerator rng = random.split();
+			tasks.add(pool.submit(() -> sample(rows, cols, fleet, blocked, mustCover, quota, deadline, rng)));
+		}
+
+		int[] counts = new int[rows * cols];
+		long attempts = 0;
+		long nodes = 0;
+		for (ForkJoinTask<Tally> task : tasks) {
+			Tally tally = task.join();
+			lastSampleCount += tally.samples;
+			attempts += tally.attempts;
+			nodes += tally.nodes;
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] += tally.counts[i];
+			}
+		}
+		boolean completed = attempts == samples;
+		if (lastSampleCount == 0) {
+			return fallback(gameState, isSelfPlayer1, start, nodes, completed);
+		}
+
+		int best = -1;
+		int bestCount = -1;
+		int ties = 0;
+		for (int i = 0; i < counts.length; i++) {
+			CellState state = tracking.getCellState(i);
+			if (state == CellState.HIT || state == CellState.MISS) continue;
+			if (counts[i] > bestCount) {
+				best = i;
+				bestCount = counts[i];
+				ties = 1;
+			} else if (counts[i] == bestCount && random.nextInt(++ties) == 0) {
+				best = i;
+			}
+		}
+		if (best < 0) {
+			return fallback(gameState, isSelfPlayer1, start, nodes, completed);
+		}
+		return new ThinkResult(new FireAction(tracking.coordinateAt(best)),
+				lastSampleCount, nodes, System.nanoTime() - start, completed);
+	}
+
+	private ThinkResult fallback(GameState gameState, boolean isSelfPlayer1, long start, long nodes, boolean completed) {
+		TurnAction action = fallback.chooseAction(gameState, isSelfPlayer1);
+		return new ThinkResult(action, lastSampleCount, nodes, System.nanoTime() - start, completed);
+	}
+
+	// attempts counts draws started, samples the ones that produced a layout,
+	// nodes the placements the sampler tried along the way
+	private record Tally(int samples, int attempts, long nodes, int[] counts) {}
+
+	private static Tally sample(int rows, int cols, ShipType[] fleet, BitGrid blocked, BitGrid mustCover,
+			int quota, long deadline, SplittableGenerator rng) {
+		FleetPlacer.Sampler sampler = new FleetPlacer.Sampler(rows, cols, fleet);
+		BitGrid occupied = new BitGrid(rows, cols);
+		int[] counts = new int[rows * cols];
+		int drawn = 0;
+		int attempt = 0;
+		for (; attempt < quota; attempt++) {
+			if (deadline != Long.MAX_VALUE && System.nanoTime() >= deadline) break;
+			if (!sampler.sample(blocked, mustCover, rng, occupied)) continue;
+			drawn++;
+			for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+				counts[i]++;
+			}
+		}
+		return new Tally(drawn, attempt, sampler.getNodesVisited(), counts);
+	}
+}
@@ -1,8 +1,35 @@
 package com.chase.battleship.ai;
 
+import com.chase.battleship.core.GameConfig;
 import com.chase.battleship.core.GameState;
 import com.chase.battleship.core.TurnAction;
 
 public interface PlayerAgent {
 	TurnAction chooseAction(GameState gameState, boolean isSelfPlayer1);
-}
\ No newline at end of file
+
+	/**
+	 * Chooses a move within budgetMillis and reports the work done. Searching
+	 * agents stop when the budget runs out and return their best move so far;
+	 * the default just calls chooseAction, for agents that are cheap anyway.
+	 */
+	default ThinkResult chooseAction(GameState gameState, boolean isSelfPlayer1, long budgetMillis) {
+		long start = System.nanoTime();
+		TurnAction action = chooseAction(gameState, isSelfPlayer1);
+		return new ThinkResult(action, 0, 0, System.nanoTime() - start, true);
+	}
+
+	/**
+	 * True if the move depends only on the agent's view (tracking board, abilities,
+	 * EMP lock) and the enemy's sunk ships. The opponent's turn can change none of
+	 * that except by EMP, so such a move may be worked out while the opponent is
+	 * still choosing and reused if PlayerState.viewHash() still matches.
+	 */
+	default boolean isViewOnly() {
+		return false;
+	}
+
+	/** isViewOnly for games played under config, for agents whose inputs depend on the mode. */
+	default boolean isViewOnly(GameConfig config) {
+		return isViewOnly();
+	}
+}
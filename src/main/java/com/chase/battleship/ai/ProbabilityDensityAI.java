@@ -0,0 +1,306 @@
+package com.chase.battleship.ai;
+
+import com.chase.battleship.core.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Hunt/target agent driven by a placement-density heatmap: each cell scores how
+ * many legal placements of the enemy's unsunk ships cover it, given the hits,
+ * misses and sunk ships seen so far. Placements through an unresolved hit are
+ * weighted up, so the same map also drives target mode. Fires only, no abilities.
+ *
+ * Horizontal placements are summed per row and vertical ones per column, so a
+ * shot at (r, c) only recomputes row r and column c. The agent keeps a copy of
+ * the tracking board it last scored and a CellLog on that one board, which
+ * records the cells shot since; the next move reads just those. A board it
+ * has no log on (a new game, or a fork handed to it each move) is compared
+ * cell by cell against the copy, unless its hash says nothing changed, and the
+ * log moves over to it. A sink changes the ship set and the no-touch area, so
+ * it rebuilds everything through Heatmap, which runs on SIMD lanes when the
+ * Vector API is available.
+ */
+public class ProbabilityDensityAI implements PlayerAgent {
+	// extra weight per unresolved hit a placement covers
+	private static final int HIT_WEIGHT = 64;
+	private static final byte OPEN = 0;
+	private static final byte HIT = 1;
+	// a miss, or a cell next to a sunk ship
+	private static final byte BLOCKED = 2;
+
+	private final RandomGenerator random;
+
+	private int rows;
+	private int cols;
+	// tracking board as of the last move, index r * cols + c
+	private byte[] seen;
+	// hash of the tracking board seen holds
+	private long seenHash;
+	// the board seen was read from, and the log of its changes since
+	private Board watched;
+	private CellLog log;
+	// rowHeat from horizontal placements, colHeat from vertical ones
+	private int[] rowHeat;
+	private int[] colHeat;
+	// sunk ships plus their neighbours: no afloat ship may use these cells
+	private boolean[] sunkHalo;
+	// afloat[length] = enemy ships of that length still afloat
+	private int[] afloat = new int[0];
+	private boolean[] lastSunk;
+	private boolean[] dirtyRows;
+	private boolean[] dirtyCols;
+	private boolean dirty;
+	private long placementsScored;
+	// seen + sunkHalo flattened for Heatmap on a full rebuild
+	private int[] openGrid;
+	private int[] hitGrid;
+
+	public ProbabilityDensityAI() {
+		this(new SplittableRandom());
+	}
+
+	/** random only breaks ties between equally hot cells. */
+	public ProbabilityDensityAI(RandomGenerator random) {
+		this.random = random;
+	}
+
+	@Override
+	public TurnAction chooseAction(GameState gameState, boolean isSelfPlayer1) {
+		PlayerState me = gameState.getCurrentPlayer();
+		PlayerState enemy = gameState.getOtherPlayer();
+		sync(me.getTrackingBoard(), enemy.getOwnBoard());
+		return new FireAction(bestTarget());
+	}
+
+	/** Never needs the budget; reports the placements scored as nodes. */
+	@Override
+	public ThinkResult chooseAction(GameState gameState, boolean isSelfPlayer1, long budgetMillis) {
+		long start = System.nanoTime();
+		long before = placementsScored;
+		TurnAction action = chooseAction(gameState, isSelfPlayer1);
+		return new ThinkResult(action, 0, placementsScored - before, System.nanoTime() - start, true);
+	}
+
+	@Override
+	public boolean isViewOnly() {
+		return true;
+	}
+
+	private static byte code(CellState state) {
+		return switch (state) {
+			case HIT -> HIT;
+			case MISS -> BLOCKED;
+			default -> OPEN;
+		};
+	}
+
+	private void sync(Board board, Board enemyFleet) {
+		long hash = board.hash();
+		if (seen == null || board.getRows() != rows || board.getCols() != cols) {
+			rows = board.getRows();
+			cols = board.getCols();
+			seen = new byte[rows * cols];
+			for (int i = 0; i < seen.length; i++) {
+				seen[i] = code(board.getCellState(i));
+			}
+			rowHeat = new int[rows * cols];
+			colHeat = new int[rows * cols];
+			openGrid = new int[rows * cols];
+			hitGrid = new int[rows * cols];
+			dirtyRows = new boolean[rows];
+			dirtyCols = new boolean[cols];
+			lastSunk = null;
+			watch(board);
+		} else if (board == watched && !log.reset) {
+			// the shots since the last move, as the log recorded them
+			for (int i = log.cells.nextSetBit(0); i >= 0; i = log.cells.nextSetBit(i + 1)) {
+				see(i, code(board.getCellState(i)));
+			}
+			log.cells.clearAll();
+		} else {
+			// nothing recorded this board's changes, so compare it with what was seen
+			if (hash != seenHash) {
+				for (int i = 0; i < seen.length; i++) {
+					see(i, code(board.getCellState(i)));
+				}
+			}
+			watch(board);
+		}
+		seenHash = hash;
+
+		if (sunkChanged(enemyFleet.getShips())) {
+			rebuildShips(enemyFleet.getShips());
+			rebuildHeat();
+		} else if (dirty) {
+			for (int r = 0; r < rows; r++) {
+				if (dirtyRows[r]) recomputeRow(r);
+			}
+			for (int c = 0; c < cols; c++) {
+				if (dirtyCols[c]) recomputeCol(c);
+			}
+		}
+		Arrays.fill(dirtyRows, false);
+		Arrays.fill(dirtyCols, false);
+		dirty = false;
+	}
+
+	private void see(int i, byte now) {
+		if (now == seen[i]) return;
+		seen[i] = now;
+		dirtyRows[i / cols] = true;
+		dirtyCols[i % cols] = true;
+		dirty = true;
+	}
+
+	// moves the log to board: only the board the agent last played on keeps one
+	private void watch(Board board) {
+		if (watched != null) {
+			watched.removeListener(log);
+		}
+		watched = board;
+		log = new CellLog(rows, cols);
+		board.addListener(log);
+	}
+
+	/**
+	 * Cells changed on the watched board since the agent last read them. Holds
+	 * nothing of the agent, so a finished game's board keeps only this alive.
+	 */
+	private static final class CellLog implements BoardListener {
+		final BitGrid cells;
+		boolean reset;
+
+		CellLog(int rows, int cols) {
+			cells = new BitGrid(rows, cols);
+		}
+
+		@Override
+		public void cellChanged(Board board, int index, CellState state) {
+			cells.set(index);
+		}
+
+		@Override
+		public void boardReset(Board board) {
+			reset = true;
+		}
+	}
+
+	private boolean sunkChanged(List<Ship> ships) {
+		if (lastSunk == null || lastSunk.length != ships.size()) return true;
+		for (int i = 0; i < lastSunk.length; i++) {
+			if (lastSunk[i] != ships.get(i).isSunk()) return true;
+		}
+		return false;
+	}
+
+	// which ships sank is announced to both players, so the agent may use it
+	private void rebuildShips(List<Ship> ships) {
+		lastSunk = new boolean[ships.size()];
+		int maxLength = 0;
+		for (Ship ship : ships) {
+			maxLength = Math.max(maxLength, ship.getType().getLength());
+		}
+		afloat = new int[maxLength + 1];
+		sunkHalo = new boolean[rows * cols];
+		for (int i = 0; i < ships.size(); i++) {
+			Ship ship = ships.get(i);
+			lastSunk[i] = ship.isSunk();
+			if (!ship.isSunk()) {
+				afloat[ship.getType().getLength()]++;
+				continue;
+			}
+			for (Coordinate c : ship.getCoordinates()) {
+				for (int r = Math.max(0, c.row() - 1); r <= Math.min(rows - 1, c.row() + 1); r++) {
+					for (int cc = Math.max(0, c.col() - 1); cc <= Math.min(cols - 1, c.col() + 1); cc++) {
+						sunkHalo[r * cols + cc] = true;
+					}
+				}
+			}
+		}
+	}
+
+	private void rebuildHeat() {
+		for (int i = 0; i < seen.length; i++) {
+			openGrid[i] = seen[i] == BLOCKED || sunkHalo[i] ? 0 : 1;
+			hitGrid[i] = seen[i] == HIT ? 1 : 0;
+		}
+		Arrays.fill(rowHeat, 0);
+		Arrays.fill(colHeat, 0);
+		Heatmap.addHorizontal(rows, cols, openGrid, hitGrid, afloat, HIT_WEIGHT, rowHeat);
+		Heatmap.addVertical(rows, cols, openGrid, hitGrid, afloat, HIT_WEIGHT, colHeat);
+		placementsScored += Heatmap.placements(rows, cols, afloat);
+	}
+
+	private void recomputeRow(int r) {
+		int base = r * cols;
+		Arrays.fill(rowHeat, base, base + cols, 0);
+		for (int length = 1; length < afloat.length; length++) {
+			if (afloat[length] == 0) continue;
+			for (int c = 0; c + length <= cols; c++) {
+				int w = weight(base + c, 1, length);
+				if (w == 0) continue;
+				w *= afloat[length];
+				for (int i = 0; i < length; i++) {
+					rowHeat[base + c + i] += w;
+				}
+			}
+		}
+	}
+
+	private void recomputeCol(int c) {
+		for (int r = 0; r < rows; r++) {
+			colHeat[r * cols + c] = 0;
+		}
+		// a single cell already counted with the rows
+		for (int length = 2; length < afloat.length; length++) {
+			if (afloat[length] == 0) continue;
+			for (int r = 0; r + length <= rows; r++) {
+				int start = r * cols + c;
+				int w = weight(start, cols, length);
+				if (w == 0) continue;
+				w *= afloat[length];
+				for (int i = 0; i < length; i++) {
+					colHeat[start + i * cols] += w;
+				}
+			}
+		}
+	}
+
+	/** Weight of the placement covering length cells from start, step apart; 0 if illegal. */
+	private int weight(int start, int step, int length) {
+		placementsScored++;
+		int hits = 0;
+		for (int i = 0, index = start; i < length; i++, index += step) {
+			if (sunkHalo[index]) return 0;
+			byte state = seen[index];
+			if (state == BLOCKED) return 0;
+			if (state == HIT) hits++;
+		}
+		return 1 + HIT_WEIGHT * hits;
+	}
+
+	private Coordinate bestTarget() {
+		int best = -1;
+		int bestScore = -1;
+		int ties = 0;
+		for (int i = 0; i < rows * cols; i++) {
+			if (seen[i] != OPEN) continue;
+			int score = rowHeat[i] + colHeat[i];
+			if (score > bestScore) {
+				best = i;
+				bestScore = score;
+				ties = 1;
+			} else if (score == bestScore && random.nextInt(++ties) == 0) {
+				best = i;
+			}
+		}
+		if (best < 0) {
+			// failsafe pick random
+			return Coordinate.of(random.nextInt(rows), random.nextInt(cols));
+		}
+		return Coordinate.of(best / cols, best % cols);
+	}
+}
@@ -0,0 +1,13 @@
+package com.chase.battleship.ai;
+
+import com.chase.battleship.core.TurnAction;
+
+/**
+ * Outcome of a time-bounded move search: the move plus how much work went
+ * into it. completed is false when the deadline cut the search short.
+ */
+public record ThinkResult(TurnAction action, long samples, long nodes, long elapsedNanos, boolean completed) {
+	public double elapsedMillis() {
+		return elapsedNanos / 1_000_000.0;
+	}
+}
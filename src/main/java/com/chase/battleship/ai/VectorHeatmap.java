@@ -0,0 +1,90 @@
+package com.chase.battleship.ai;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD loops behind Heatmap, one lane per column. Only loaded once Heatmap has
+ * seen the incubator module, so nothing here is touched without it.
+ *
+ * A row of placement starts is weighed with length shifted loads of open and
+ * hits; a column of starts uses the rows below instead, so lanes never cross.
+ * Full vectors run unmasked, the last partial one under a mask.
+ */
+final class VectorHeatmap {
+	private static final VectorSpecies<Integer> S = IntVector.SPECIES_PREFERRED;
+
+	private VectorHeatmap() {}
+
+	static int lanes() {
+		return S.length();
+	}
+
+	static void addHorizontal(int rows, int cols, int[] open, int[] hits, int[] afloat, int hitWeight, int[] heat) {
+		int[] weights = new int[cols];
+		for (int length = 1; length < afloat.length && length <= cols; length++) {
+			if (afloat[length] == 0) continue;
+			int starts = cols - length + 1;
+			int bound = S.loopBound(starts);
+			VectorMask<Integer> tail = S.indexInRange(bound, starts);
+			for (int r = 0; r < rows; r++) {
+				int base = r * cols;
+				// weight of the placement starting at each column
+				for (int c = 0; c < starts; c += S.length()) {
+					VectorMask<Integer> m = c < bound ? null : tail;
+					store(weight(open, hits, base + c, 1, length, afloat[length], hitWeight, m), weights, c, m);
+				}
+				// and onto each cell it covers
+				for (int i = 0; i < length; i++) {
+					for (int c = 0; c < starts; c += S.length()) {
+						VectorMask<Integer> m = c < bound ? null : tail;
+						store(load(heat, base + c + i, m).add(load(weights, c, m)), heat, base + c + i, m);
+					}
+				}
+			}
+		}
+	}
+
+	static void addVertical(int rows, int cols, int[] open, int[] hits, int[] afloat, int hitWeight, int[] heat) {
+		int bound = S.loopBound(cols);
+		VectorMask<Integer> tail = S.indexInRange(bound, cols);
+		for (int length = 2; length < afloat.length && length <= rows; length++) {
+			if (afloat[length] == 0) continue;
+			for (int r = 0; r + length <= rows; r++) {
+				for (int c = 0; c < cols; c += S.length()) {
+					VectorMask<Integer> m = c < bound ? null : tail;
+					int start = r * cols + c;
+					IntVector w = weight(open, hits, start, cols, length, afloat[length], hitWeight, m);
+					for (int i = 0, index = start; i < length; i++, index += cols) {
+						store(load(heat, index, m).add(w), heat, index, m);
+					}
+				}
+			}
+		}
+	}
+
+	// lane j weighs the placement of length cells from start + j, step apart; 0 if any is closed
+	private static IntVector weight(int[] open, int[] hits, int start, int step, int length,
+			int count, int hitWeight, VectorMask<Integer> m) {
+		IntVector ok = load(open, start, m);
+		IntVector hit = load(hits, start, m);
+		for (int i = 1, index = start + step; i < length; i++, index += step) {
+			ok = ok.and(load(open, index, m));
+			hit = hit.add(load(hits, index, m));
+		}
+		return hit.mul(hitWeight).add(1).mul(ok).mul(count);
+	}
+
+	private static IntVector load(int[] a, int offset, VectorMask<Integer> m) {
+		return m == null ? IntVector.fromArray(S, a, offset) : IntVector.fromArray(S, a, offset, m);
+	}
+
+	private static void store(IntVector v, int[] a, int offset, VectorMask<Integer> m) {
+		if (m == null) {
+			v.intoArray(a, offset);
+		} else {
+			v.intoArray(a, offset, m);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package com.chase.battleship.cli;
 
 import com.chase.battleship.core.*;
 import com.chase.battleship.ai.DecisionTreeAI;
+import com.chase.battleship.ai.ProbabilityDensityAI;
 import com.chase.battleship.ai.PlayerAgent;
 import com.chase.battleship.net.OnlineHost;
 import com.chase.battleship.net.OnlineClient;
@@ -9,11 +10,25 @@ import com.chase.battleship.net.OnlineClient;
 import java.util.Scanner;
 
 public class BattleshipCli {
+	/**
+	 * Usage: BattleshipCli [--seed S] [--ai decisiontree|density]; a seed replays the
+	 * fleets, AI and abilities of every game. The density AI only fires.
+	 */
 	public static void main(String[] args) {
-		new BattleshipCli().run();
+		BattleshipCli cli = new BattleshipCli();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+				case "--seed" -> cli.seed = Long.parseLong(args[i + 1]);
+				case "--ai" -> cli.densityAi = args[i + 1].equals("density");
+				default -> System.out.println("Ignoring unknown option " + args[i]);
+			}
+		}
+		cli.run();
 	}
 
 	private final Scanner scanner = new Scanner(System.in);
+	private Long seed;
+	private boolean densityAi;
 
 	public void run() {
 		System.out.println("=== Neo-Retro Battleship === ");
@@ -29,11 +44,11 @@ public class BattleshipCli {
 			String line = scanner.nextLine();
 
 			switch(line) {
-				case "1" -> startVsAi(GameConfig.classic());
-				case "2" -> startVsAi(GameConfig.neoRetroDefault());
-				case "3" -> startLocal2P(GameConfig.classic());
-				case "4" -> startLocal2P(GameConfig.neoRetroDefault());
-				case "5" -> startOnlineHost(GameConfig.classic());
+				case "1" -> startVsAi(seeded(GameConfig.classic()));
+				case "2" -> startVsAi(seeded(GameConfig.neoRetroDefault()));
+				case "3" -> startLocal2P(seeded(GameConfig.classic()));
+				case "4" -> startLocal2P(seeded(GameConfig.neoRetroDefault()));
+				case "5" -> startOnlineHost(seeded(GameConfig.classic()));
 				case "6" -> startOnlineJoin(GameConfig.classic());
 				case "7" -> {
 					System.out.println("Goodbye!");
@@ -43,48 +58,75 @@ public class BattleshipCli {
 			}
 		}
 	}
+	private GameConfig seeded(GameConfig config) {
+		if (seed != null) {
+			config.setSeed(seed);
+		}
+		return config;
+	}
+
 	private void startVsAi(GameConfig config) {
+		MatchRandom random = MatchRandom.of(config);
 		PlayerAgent humanAgent = new TerminalHumanAgent(scanner);
-		PlayerAgent aiAgent = new DecisionTreeAI();
-		runGame(config, "You", "AI", humanAgent, aiAgent);
+		PlayerAgent aiAgent = densityAi
+				? new ProbabilityDensityAI(random.agent(false))
+				: new DecisionTreeAI(random.agent(false));
+		runGame(config, random, "You", "AI", humanAgent, aiAgent);
 	}
 	
 	private void startLocal2P(GameConfig config) {
 		PlayerAgent p1 = new TerminalHumanAgent(scanner);
 		PlayerAgent p2 = new TerminalHumanAgent(scanner);
-		runGame(config, "Player 1", "Player 2", p1, p2);
+		runGame(config, MatchRandom.of(config), "Player 1", "Player 2", p1, p2);
 	}
 
-	private void runGame(GameConfig config, String p1Name, String p2Name, PlayerAgent p1Agent, PlayerAgent p2Agent) {
+	private void runGame(GameConfig config, MatchRandom random, String p1Name, String p2Name,
+			PlayerAgent p1Agent, PlayerAgent p2Agent) {
 		Board b1 = new Board(config.getRows(), config.getCols());
 		Board b2 = new Board(config.getRows(), config.getCols());
 
 		// for now, random placement, allow manual w cli later
 		// BoardUtils.setupBoardInteractive(b1);
 		// setupBoardInteractive(b2);
-		BoardUtils.randomFleetPlacement(b1);
-		BoardUtils.randomFleetPlacement(b2);
+		BoardUtils.randomFleetPlacement(b1, random.fleet(true));
+		BoardUtils.randomFleetPlacement(b2, random.fleet(false));
+		System.out.println("Seed: " + random.getSeed());
 
 		PlayerState ps1 = new PlayerState(p1Name, b1, config);
 		PlayerState ps2 = new PlayerState(p2Name, b2, config);
 		GameState state = new GameState(config, ps1, ps2);
-		GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor());
+		GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
+		engine.addListener(new GameListener() {
+			@Override
+			public void turnProcessed(TurnAction action, TurnResult result) {
+				System.out.println(result.message());
+				System.out.println();
+			}
+		});
 
 		PlayerAgent[] agents = { p1Agent, p2Agent };
 		int currentIdx = 0;
 
+		// views follow board changes through listeners instead of re-reading every cell
+		BoardPrinter.LiveBoard[] p1Views = {
+				new BoardPrinter.LiveBoard(ps1.getOwnBoard(), true),
+				new BoardPrinter.LiveBoard(ps1.getTrackingBoard(), false) };
+		BoardPrinter.LiveBoard[] p2Views = {
+				new BoardPrinter.LiveBoard(ps2.getOwnBoard(), true),
+				new BoardPrinter.LiveBoard(ps2.getTrackingBoard(), false) };
+
 		while(!state.isGameOver()) {
 			PlayerState current = state.getCurrentPlayer();
 			PlayerAgent agent = (current == ps1) ? p1Agent : p2Agent;
 
-			printBoards(state, current == ps1);
+			printBoards(state, current == ps1 ? p1Views : p2Views);
 
-			TurnAction action = agent.chooseAction(state, current == ps1);
-			TurnResult result = engine.processTurn(action);
-
-			System.out.println(result.message());
-			System.out.println();
+			// the listener above reports the result
+			engine.processTurn(agent.chooseAction(state, current == ps1));
 		}
+
+		for (BoardPrinter.LiveBoard view : p1Views) view.close();
+		for (BoardPrinter.LiveBoard view : p2Views) view.close();
 	}
 
 	private void startOnlineHost(GameConfig config) {
@@ -107,15 +149,15 @@ public class BattleshipCli {
 		}
 	}
 
-	private void printBoards(GameState state, boolean currentIsPlayer1) {
+	private void printBoards(GameState state, BoardPrinter.LiveBoard[] views) {
     	PlayerState current = state.getCurrentPlayer();
 
 		System.out.println("=== " + current.getName() + "'s turn ===");
 		System.out.println("Your board:");
-		BoardPrinter.printBoard(current.getOwnBoard(), true);
+		views[0].print();
 
 		System.out.println("Enemy board (what you know):");
-		BoardPrinter.printBoard(current.getTrackingBoard(), false);
+		views[1].print();
 
 		if (state.getConfig().getGameMode().isNeoRetro() &&
 			current.getAbilities() != null) {
@@ -12,35 +12,94 @@ public class BoardPrinter {
 
     public static List<String> renderBoard(Board board, boolean showShips) {
         List<String> lines = new ArrayList<>();
-
-        // header row
-        StringBuilder header = new StringBuilder("   ");
-        for (int c = 0; c < board.getCols(); c++) {
-            header.append(c).append(' ');
-        }
-        lines.add(header.toString());
+        lines.add(header(board));
 
         for (int r = 0; r < board.getRows(); r++) {
             StringBuilder row = new StringBuilder();
             row.append(' ').append(r).append(' ');
 
             for (int c = 0; c < board.getCols(); c++) {
-                Coordinate coord = new Coordinate(r, c);
-                CellState state = board.getCellState(coord);
-                char ch = '.';
-
-                switch (state) {
-                    case EMPTY -> ch = '.';
-                    case SHIP  -> ch = showShips ? 'S' : '.';
-                    case HIT   -> ch = 'X';
-                    case MISS  -> ch = 'o';
-                    default    -> ch = '?';
-                }
-                row.append(ch).append(' ');
+                CellState state = board.getCellState(r, c);
+                row.append(symbolFor(state, showShips)).append(' ');
             }
             lines.add(row.toString());
         }
 
         return lines;
     }
-}
\ No newline at end of file
+
+    private static String header(Board board) {
+        StringBuilder header = new StringBuilder("   ");
+        for (int c = 0; c < board.getCols(); c++) {
+            header.append(c).append(' ');
+        }
+        return header.toString();
+    }
+
+    private static char symbolFor(CellState state, boolean showShips) {
+        return switch (state) {
+            case EMPTY -> '.';
+            case SHIP  -> showShips ? 'S' : '.';
+            case HIT   -> 'X';
+            case MISS  -> 'o';
+        };
+    }
+
+    /**
+     * Rendered copy of a board kept current through a BoardListener, so printing
+     * a board every turn only touches the cells that changed since last time.
+     */
+    public static final class LiveBoard implements BoardListener {
+        private final Board board;
+        private final boolean showShips;
+        private final String header;
+        private final String[] prefixes;
+        private final char[][] cells;
+
+        public LiveBoard(Board board, boolean showShips) {
+            this.board = board;
+            this.showShips = showShips;
+            this.header = header(board);
+            this.prefixes = new String[board.getRows()];
+            this.cells = new char[board.getRows()][board.getCols() * 2];
+            for (int r = 0; r < prefixes.length; r++) {
+                prefixes[r] = " " + r + " ";
+            }
+            boardReset(board);
+            board.addListener(this);
+        }
+
+        @Override
+        public void cellChanged(Board b, int index, CellState state) {
+            int cols = board.getCols();
+            cells[index / cols][(index % cols) * 2] = symbolFor(state, showShips);
+        }
+
+        @Override
+        public void boardReset(Board b) {
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getCols(); c++) {
+                    cells[r][c * 2] = symbolFor(board.getCellState(r, c), showShips);
+                    cells[r][c * 2 + 1] = ' ';
+                }
+            }
+        }
+
+        public List<String> lines() {
+            List<String> lines = new ArrayList<>(cells.length + 1);
+            lines.add(header);
+            for (int r = 0; r < cells.length; r++) {
+                lines.add(prefixes[r] + new String(cells[r]));
+            }
+            return lines;
+        }
+
+        public void print() {
+            lines().forEach(System.out::println);
+        }
+
+        public void close() {
+            board.removeListener(this);
+        }
+    }
+}
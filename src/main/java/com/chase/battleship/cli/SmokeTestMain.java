@@ -14,6 +14,8 @@ public class SmokeTestMain {
 
     for (int i = 0; i < games; i++) {
         System.out.println("Starting smoke test…");
+        // game i is reproducible on its own
+        cfg.setSeed(i);
         GameResult result = runOneGame(cfg);
         switch (result) {
             case HOST_WIN -> hostWins++;
@@ -33,16 +35,17 @@ enum GameResult { HOST_WIN, CLIENT_WIN, DRAW_CAP }
 private static GameResult runOneGame(GameConfig config) {
     Board b1 = new Board(config.getRows(), config.getCols());
     Board b2 = new Board(config.getRows(), config.getCols());
-    BoardUtils.randomFleetPlacement(b1);
-    BoardUtils.randomFleetPlacement(b2);
+    MatchRandom random = MatchRandom.of(config);
+    BoardUtils.randomFleetPlacement(b1, random.fleet(true));
+    BoardUtils.randomFleetPlacement(b2, random.fleet(false));
 
     PlayerState ps1 = new PlayerState("P1", b1, config);
     PlayerState ps2 = new PlayerState("P2", b2, config);
     GameState state = new GameState(config, ps1, ps2);
-    GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor());
+    GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
 
-    PlayerAgent a1 = new DecisionTreeAI();
-    PlayerAgent a2 = new DecisionTreeAI();
+    PlayerAgent a1 = new DecisionTreeAI(random.agent(true));
+    PlayerAgent a2 = new DecisionTreeAI(random.agent(false));
 
     int cap = 500;
     while (!state.isGameOver() && cap-- > 0) {
@@ -1,77 +0,0 @@
-package com.chase.battleship.cli;
-
-import com.chase.battleship.core.*;
-import com.chase.battleship.ai.DecisionTreeAI;
-import com.chase.battleship.ai.PlayerAgent;
-
-public class SmokeTestMain2 {
-
-    enum GameResult { HOST_WIN, CLIENT_WIN, DRAW_CAP }
-
-    public static void main(String[] args) {
-        runSuite("CLASSIC", GameConfig.classic());
-        System.out.println();
-        runSuite("NEO_RETRO", GameConfig.neoRetroDefault());
-    }
-
-    private static void runSuite(String label, GameConfig cfg) {
-        int games = 100;
-        int hostWins = 0;
-        int clientWins = 0;
-        int draws = 0;
-
-        System.out.printf("=== %s SMOKE SUITE ===%n", label);
-
-        for (int i = 0; i < games; i++) {
-            System.out.println("Starting smoke test…");
-            GameResult result = runOneGame(cfg);
-            switch (result) {
-                case HOST_WIN -> hostWins++;
-                case CLIENT_WIN -> clientWins++;
-                case DRAW_CAP -> draws++;
-            }
-        }
-
-        System.out.printf(
-                "[%s] Ran %d games. Host wins: %d, Client wins: %d, Cap-draws: %d%n",
-                label, games, hostWins, clientWins, draws
-        );
-    }
-
-    private static GameResult runOneGame(GameConfig config) {
-        Board b1 = new Board(config.getRows(), config.getCols());
-        Board b2 = new Board(config.getRows(), config.getCols());
-        BoardUtils.randomFleetPlacement(b1);
-        BoardUtils.randomFleetPlacement(b2);
-
-        PlayerState ps1 = new PlayerState("P1", b1, config);
-        PlayerState ps2 = new PlayerState("P2", b2, config);
-        GameState state = new GameState(config, ps1, ps2);
-        GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor());
-
-        PlayerAgent a1 = new DecisionTreeAI();
-        PlayerAgent a2 = new DecisionTreeAI();
-
-        int cap = 500;
-        while (!state.isGameOver() && cap-- > 0) {
-            PlayerState current = state.getCurrentPlayer();
-            PlayerAgent agent = (current == ps1) ? a1 : a2;
-            TurnAction action = agent.chooseAction(state, current == ps1);
-            engine.processTurn(action);
-        }
-
-        if (!state.isGameOver()) {
-            int p1Ships = b1.countShipCells();
-            int p2Ships = b2.countShipCells();
-            System.out.printf(
-                    "!! TURN CAP HIT: P1 ship cells=%d, P2 ship cells=%d%n",
-                    p1Ships, p2Ships
-            );
-            return GameResult.DRAW_CAP;
-        }
-
-        return state.getCurrentPlayer().getName().equals("P1")
-                ? GameResult.HOST_WIN
-                : GameResult.CLIENT_WIN;
-    }
-}
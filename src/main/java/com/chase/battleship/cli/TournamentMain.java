@@ -0,0 +1,229 @@
+package com.chase.battleship.cli;
+
+import com.chase.battleship.core.*;
+import com.chase.battleship.ai.DecisionTreeAI;
+import com.chase.battleship.ai.MonteCarloAI;
+import com.chase.battleship.ai.PlayerAgent;
+import com.chase.battleship.ai.ProbabilityDensityAI;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * Round-robin self-play between AI agents. Every pairing plays the same number
+ * of games, seats swapped every other game, and each game draws its fleets,
+ * abilities and agent randomness from its own MatchRandom seed, so the same
+ * --seed replays the same tournament. Games run in parallel; nothing is printed
+ * until they are all done.
+ *
+ * Usage: TournamentMain [--agents a,b,...] [--games N] [--threads T] [--seed S] [--mode classic|neoretro]
+ * --games is per pairing, --threads 0 runs one virtual thread per game.
+ */
+public class TournamentMain {
+
+    private static final int TURN_CAP = 500;
+    // enough to play well while keeping thousands of games affordable
+    private static final int MC_SAMPLES = 500;
+    private static final double Z95 = 1.96;
+
+    private static final Map<String, Function<SplittableGenerator, PlayerAgent>> AGENTS = new LinkedHashMap<>();
+    static {
+        AGENTS.put("decisiontree", DecisionTreeAI::new);
+        AGENTS.put("density", ProbabilityDensityAI::new);
+        // no time budget, so the sample count alone decides its moves
+        AGENTS.put("montecarlo", random -> new MonteCarloAI(MC_SAMPLES, 0, random));
+    }
+
+    private record Pairing(String a, String b) {}
+
+    // winner: 0 = a, 1 = b, -1 = turn cap hit
+    private record Outcome(int pairing, int winner, int winnerTurns, Throwable error) {}
+
+    public static void main(String[] args) throws InterruptedException {
+        List<String> agents = new ArrayList<>(AGENTS.keySet());
+        int games = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        GameConfig config = GameConfig.classic();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--agents" -> agents = Arrays.asList(value.split(","));
+                case "--games" -> games = Integer.parseInt(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--mode" -> config = "neoretro".equals(value) ? GameConfig.neoRetroDefault() : GameConfig.classic();
+                default -> {
+                    System.out.println("Unknown option " + args[i] + "; agents: " + AGENTS.keySet());
+                    System.exit(2);
+                }
+            }
+            i++;
+        }
+        for (String name : agents) {
+            if (!AGENTS.containsKey(name)) {
+                System.out.println("Unknown agent " + name + "; agents: " + AGENTS.keySet());
+                System.exit(2);
+            }
+        }
+
+        List<Pairing> pairings = new ArrayList<>();
+        for (int a = 0; a < agents.size(); a++) {
+            for (int b = a + 1; b < agents.size(); b++) {
+                pairings.add(new Pairing(agents.get(a), agents.get(b)));
+            }
+        }
+        if (pairings.isEmpty()) {
+            // a single agent plays itself
+            pairings.add(new Pairing(agents.get(0), agents.get(0)));
+        }
+
+        System.out.printf("=== %s tournament: %d pairings x %d games, %s, seed %d ===%n",
+                config.getGameMode(), pairings.size(), games,
+                threads > 0 ? threads + " threads" : "virtual threads", seed);
+
+        long start = System.nanoTime();
+        List<Outcome> outcomes = new ArrayList<>(pairings.size() * games);
+        try (ExecutorService pool = threads > 0
+                ? Executors.newFixedThreadPool(threads)
+                : Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Outcome>> futures = new ArrayList<>(pairings.size() * games);
+            for (int p = 0; p < pairings.size(); p++) {
+                for (int g = 0; g < games; g++) {
+                    int pairing = p;
+                    int game = g;
+                    long gameSeed = seed + (long) (p * games + g) * 0x9E3779B97F4A7C15L;
+                    GameConfig cfg = config;
+                    Pairing matchup = pairings.get(p);
+                    futures.add(pool.submit(() -> playSafely(cfg, matchup, pairing, game, gameSeed)));
+                }
+            }
+            for (Future<Outcome> future : futures) {
+                try {
+                    outcomes.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        report(agents, pairings, outcomes);
+        long caps = outcomes.stream().filter(o -> o.error == null && o.winner < 0).count();
+        List<Outcome> failed = outcomes.stream().filter(o -> o.error != null).toList();
+        System.out.printf("%d games in %.1f s (%.1f games/s), %d cap-draws, %d errors%n",
+                outcomes.size(), seconds, outcomes.size() / seconds, caps, failed.size());
+        if (!failed.isEmpty()) {
+            failed.get(0).error.printStackTrace(System.out);
+            System.exit(1);
+        }
+    }
+
+    private static Outcome playSafely(GameConfig config, Pairing pairing, int pairingIndex, int game, long seed) {
+        try {
+            return playGame(config, pairing, pairingIndex, game, seed);
+        } catch (Throwable t) {
+            return new Outcome(pairingIndex, -1, 0, t);
+        }
+    }
+
+    private static Outcome playGame(GameConfig config, Pairing pairing, int pairingIndex, int game, long seed) {
+        MatchRandom random = new MatchRandom(seed);
+        boolean aFirst = game % 2 == 0;
+
+        Board b1 = new Board(config.getRows(), config.getCols());
+        Board b2 = new Board(config.getRows(), config.getCols());
+        BoardUtils.randomFleetPlacement(b1, random.fleet(true));
+        BoardUtils.randomFleetPlacement(b2, random.fleet(false));
+
+        PlayerState ps1 = new PlayerState("P1", b1, config);
+        PlayerState ps2 = new PlayerState("P2", b2, config);
+        GameState state = new GameState(config, ps1, ps2);
+        GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
+
+        PlayerAgent a1 = AGENTS.get(aFirst ? pairing.a : pairing.b).apply(random.agent(true));
+        PlayerAgent a2 = AGENTS.get(aFirst ? pairing.b : pairing.a).apply(random.agent(false));
+
+        int[] turns = new int[2];
+        int cap = TURN_CAP;
+        while (!state.isGameOver() && cap-- > 0) {
+            boolean p1 = state.getCurrentPlayer() == ps1;
+            PlayerAgent agent = p1 ? a1 : a2;
+            engine.processTurn(agent.chooseAction(state, p1));
+            turns[p1 ? 0 : 1]++;
+        }
+        if (!state.isGameOver()) {
+            return new Outcome(pairingIndex, -1, 0, null);
+        }
+        boolean p1Won = state.getWinner() == ps1;
+        return new Outcome(pairingIndex, p1Won == aFirst ? 0 : 1, turns[p1Won ? 0 : 1], null);
+    }
+
+    private static void report(List<String> agents, List<Pairing> pairings, List<Outcome> outcomes) {
+        int n = agents.size();
+        int[] played = new int[n];
+        int[] won = new int[n];
+        long[] winTurns = new long[n];
+
+        for (int p = 0; p < pairings.size(); p++) {
+            Pairing pairing = pairings.get(p);
+            int games = 0;
+            int[] wins = new int[2];
+            long[] turns = new long[2];
+            for (Outcome o : outcomes) {
+                if (o.pairing != p || o.error != null) continue;
+                games++;
+                if (o.winner >= 0) {
+                    wins[o.winner]++;
+                    turns[o.winner] += o.winnerTurns;
+                }
+            }
+            System.out.printf("%-12s vs %-12s  %5d-%-5d  %-12s %s  shots to win %s / %s%n",
+                    pairing.a, pairing.b, wins[0], wins[1], pairing.a, rate(wins[0], games),
+                    average(turns[0], wins[0]), average(turns[1], wins[1]));
+
+            int ia = agents.indexOf(pairing.a);
+            int ib = agents.indexOf(pairing.b);
+            if (ia == ib) continue;
+            played[ia] += games;
+            played[ib] += games;
+            for (int side = 0; side < 2; side++) {
+                int i = side == 0 ? ia : ib;
+                won[i] += wins[side];
+                winTurns[i] += turns[side];
+            }
+        }
+
+        if (pairings.size() > 1) {
+            System.out.println("Standings:");
+            for (int i = 0; i < n; i++) {
+                System.out.printf("  %-12s  win %s  shots to win %s%n",
+                        agents.get(i), rate(won[i], played[i]), average(winTurns[i], won[i]));
+            }
+        }
+    }
+
+    /** Win rate with a 95% Wilson score interval. */
+    private static String rate(int wins, int games) {
+        if (games == 0) return "-";
+        double p = (double) wins / games;
+        double z2 = Z95 * Z95 / games;
+        double center = (p + z2 / 2) / (1 + z2);
+        double half = Z95 * Math.sqrt(p * (1 - p) / games + z2 / (4 * games)) / (1 + z2);
+        return String.format("%5.1f%% [%.1f, %.1f]", 100 * p, 100 * (center - half), 100 * (center + half));
+    }
+
+    private static String average(long total, int count) {
+        return count == 0 ? "-" : String.format("%.1f", (double) total / count);
+    }
+}
@@ -1,3 +1,31 @@
 package com.chase.battleship.core;
 
-public record AbilityResult(String description) {}
\ No newline at end of file
+import java.util.List;
+
+/**
+ * What an ability did, as events; the description text is built lazily.
+ */
+public final class AbilityResult {
+	private final List<TurnEvent> events;
+	private String description;
+
+	public AbilityResult(List<TurnEvent> events) {
+		this.events = events;
+	}
+
+	public AbilityResult(String description) {
+		this(List.of());
+		this.description = description;
+	}
+
+	public List<TurnEvent> events() {
+		return events;
+	}
+
+	public String description() {
+		if (description == null) {
+			description = TurnMessages.describe(events, true);
+		}
+		return description;
+	}
+}
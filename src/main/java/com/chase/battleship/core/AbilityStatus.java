@@ -11,6 +11,17 @@ public class AbilityStatus {
         assert cooldownRemaining >= 0 : "AbilityStatus: initial cooldown negative";
 	}
 
+	AbilityStatus copy() {
+		AbilityStatus copy = new AbilityStatus(charges);
+		copy.cooldownRemaining = cooldownRemaining;
+		return copy;
+	}
+
+	void restore(int charges, int cooldownRemaining) {
+		this.charges = charges;
+		this.cooldownRemaining = cooldownRemaining;
+	}
+
 	public boolean isAvailable() {
 		return charges > 0 && cooldownRemaining == 0;
 	}
@@ -0,0 +1,235 @@
+package com.chase.battleship.core;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fixed-size bitset over a rows x cols grid, laid out row-major
+ * (index = row * cols + col) and packed into longs.
+ */
+public final class BitGrid {
+	// [0] = every cell except column 0, [1] = every cell except the last column
+	private static final Map<Long, long[][]> EDGE_MASKS = new ConcurrentHashMap<>();
+
+	private final int rows;
+	private final int cols;
+	private final int size;
+	final long[] words;
+
+	public BitGrid(int rows, int cols) {
+		this.rows = rows;
+		this.cols = cols;
+		this.size = rows * cols;
+		this.words = new long[wordCount(size)];
+	}
+
+	private BitGrid(BitGrid other) {
+		this.rows = other.rows;
+		this.cols = other.cols;
+		this.size = other.size;
+		this.words = other.words.clone();
+	}
+
+	static int wordCount(int size) {
+		return (size + 63) >>> 6;
+	}
+
+	public int getRows() { return rows; }
+	public int getCols() { return cols; }
+	public int size() { return size; }
+
+	public boolean get(int index) {
+		return (words[index >>> 6] & (1L << index)) != 0;
+	}
+
+	public void set(int index) {
+		words[index >>> 6] |= 1L << index;
+	}
+
+	public void clear(int index) {
+		words[index >>> 6] &= ~(1L << index);
+	}
+
+	public void clearAll() {
+		Arrays.fill(words, 0L);
+	}
+
+	public BitGrid copy() {
+		return new BitGrid(this);
+	}
+
+	public int cardinality() {
+		int count = 0;
+		for (long w : words) {
+			count += Long.bitCount(w);
+		}
+		return count;
+	}
+
+	public boolean isEmpty() {
+		for (long w : words) {
+			if (w != 0) return false;
+		}
+		return true;
+	}
+
+	public BitGrid and(BitGrid other) {
+		for (int i = 0; i < words.length; i++) {
+			words[i] &= other.words[i];
+		}
+		return this;
+	}
+
+	public BitGrid or(BitGrid other) {
+		for (int i = 0; i < words.length; i++) {
+			words[i] |= other.words[i];
+		}
+		return this;
+	}
+
+	public BitGrid andNot(BitGrid other) {
+		for (int i = 0; i < words.length; i++) {
+			words[i] &= ~other.words[i];
+		}
+		return this;
+	}
+
+	/** Flips every cell on the grid (bits past the last cell stay clear). */
+	public BitGrid invert() {
+		for (int i = 0; i < words.length; i++) {
+			words[i] = ~words[i];
+		}
+		trimTail();
+		return this;
+	}
+
+	/** Returns the index of the first set cell at or after {@code from}, or -1. */
+	public int nextSetBit(int from) {
+		if (from >= size) return -1;
+		int w = from >>> 6;
+		long word = words[w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				int index = (w << 6) + Long.numberOfTrailingZeros(word);
+				return index < size ? index : -1;
+			}
+			if (++w == words.length) return -1;
+			word = words[w];
+		}
+	}
+
+	/** Returns the index of the n-th (0-based) set cell, or -1 if there are not that many. */
+	public int nthSetBit(int n) {
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w];
+			int count = Long.bitCount(word);
+			if (n < count) {
+				for (int i = 0; i < n; i++) {
+					word &= word - 1;
+				}
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			n -= count;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a new grid holding every cell orthogonally adjacent to a set cell
+	 * of this grid. Computed with whole-word shifts, no per-cell loop.
+	 */
+	public BitGrid orthogonalNeighbors() {
+		BitGrid out = new BitGrid(rows, cols);
+		long[] src = words;
+		long[] dst = out.words;
+		long[][] masks = edgeMasks(rows, cols);
+
+		long[] tmp = new long[src.length];
+		shiftUp(src, tmp, cols);
+		orMasked(dst, tmp, null);
+		shiftDown(src, tmp, cols);
+		orMasked(dst, tmp, null);
+
+		// left/right shifts wrap across row ends, so mask the wrapped column off
+		shiftUp(src, tmp, 1);
+		orMasked(dst, tmp, masks[0]);
+		shiftDown(src, tmp, 1);
+		orMasked(dst, tmp, masks[1]);
+
+		out.trimTail();
+		return out;
+	}
+
+	/** Cells where (row + col) % 2 == parity. */
+	public static BitGrid checkerboard(int rows, int cols, int parity) {
+		BitGrid grid = new BitGrid(rows, cols);
+		for (int r = 0; r < rows; r++) {
+			for (int c = (r + parity) & 1; c < cols; c += 2) {
+				grid.set(r * cols + c);
+			}
+		}
+		return grid;
+	}
+
+	private void trimTail() {
+		int tail = size & 63;
+		if (tail != 0) {
+			words[words.length - 1] &= (1L << tail) - 1;
+		}
+	}
+
+	private static long[][] edgeMasks(int rows, int cols) {
+		long key = ((long) rows << 32) | (cols & 0xffffffffL);
+		return EDGE_MASKS.computeIfAbsent(key, k -> {
+			BitGrid notFirst = new BitGrid(rows, cols);
+			BitGrid notLast = new BitGrid(rows, cols);
+			for (int i = 0; i < rows * cols; i++) {
+				int c = i % cols;
+				if (c != 0) notFirst.set(i);
+				if (c != cols - 1) notLast.set(i);
+			}
+			return new long[][] { notFirst.words, notLast.words };
+		});
+	}
+
+	// index i -> i + n
+	private static void shiftUp(long[] src, long[] dst, int n) {
+		int wordShift = n >>> 6;
+		int bitShift = n & 63;
+		for (int i = dst.length - 1; i >= 0; i--) {
+			int s = i - wordShift;
+			long v = 0;
+			if (s >= 0) {
+				v = src[s] << bitShift;
+				if (bitShift != 0 && s - 1 >= 0) {
+					v |= src[s - 1] >>> (64 - bitShift);
+				}
+			}
+			dst[i] = v;
+		}
+	}
+
+	// index i -> i - n
+	private static void shiftDown(long[] src, long[] dst, int n) {
+		int wordShift = n >>> 6;
+		int bitShift = n & 63;
+		for (int i = 0; i < dst.length; i++) {
+			int s = i + wordShift;
+			long v = 0;
+			if (s < src.length) {
+				v = src[s] >>> bitShift;
+				if (bitShift != 0 && s + 1 < src.length) {
+					v |= src[s + 1] << (64 - bitShift);
+				}
+			}
+			dst[i] = v;
+		}
+	}
+
+	private static void orMasked(long[] dst, long[] src, long[] mask) {
+		for (int i = 0; i < dst.length; i++) {
+			dst[i] |= mask == null ? src[i] : src[i] & mask[i];
+		}
+	}
+}
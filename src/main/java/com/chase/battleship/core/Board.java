@@ -5,23 +5,85 @@ import java.util.*;
 public class Board {
 	private final int rows;
 	private final int cols;
-	private final CellState[][] grid;
+	// cell layers, index = row * cols + col; a cell reads as HIT, then MISS, then SHIP, else EMPTY
+	private final BitGrid shipCells;
+	private final BitGrid hitCells;
+	private final BitGrid missCells;
 	private final List<Ship> ships = new ArrayList<>();
+	// cell -> (index into ships + 1), 0 = no ship
+	private final byte[] shipIndex;
+	private final Coordinate[] coordinates;
+	// live counters so win checks never rescan the grid
+	private int shipCellsRemaining;
+	private int sunkShips;
+	// Zobrist hash of the cell layers, updated on every cell write
+	private long cellHash;
+	private final List<BoardListener> listeners = new ArrayList<>(1);
+	// set while GameEngine is recording undo frames
+	private TurnJournal journal;
+	private int journalId;
 
 	public Board(int rows, int cols) {
 		this.rows = rows;
 		this.cols = cols;
-		this.grid = new CellState[rows][cols];
-		for(int r = 0; r < rows; r++) {
-			Arrays.fill(grid[r], CellState.EMPTY);
+		this.shipCells = new BitGrid(rows, cols);
+		this.hitCells = new BitGrid(rows, cols);
+		this.missCells = new BitGrid(rows, cols);
+		this.shipIndex = new byte[rows * cols];
+		this.coordinates = Coordinate.table(rows, cols);
+	}
+
+	private Board(Board other) {
+		this.rows = other.rows;
+		this.cols = other.cols;
+		this.shipCells = other.shipCells.copy();
+		this.hitCells = other.hitCells.copy();
+		this.missCells = other.missCells.copy();
+		for (Ship ship : other.ships) {
+			this.ships.add(ship.copy());
 		}
+		this.shipIndex = other.shipIndex.clone();
+		this.coordinates = other.coordinates;
+		this.shipCellsRemaining = other.shipCellsRemaining;
+		this.sunkShips = other.sunkShips;
+		this.cellHash = other.cellHash;
+	}
+
+	/** Deep copy: cell layers, ship index and fresh Ship objects. Listeners are not copied. */
+	public Board copy() {
+		return new Board(this);
 	}
 
 	public int getRows() { return rows; }
 	public int getCols() { return cols; }
 
 	public CellState getCellState(Coordinate c) {
-		return grid[c.row()][c.col()];
+		return stateAt(c.row() * cols + c.col());
+	}
+
+	public CellState getCellState(int r, int c) {
+		return stateAt(r * cols + c);
+	}
+
+	/** Cell state by row-major index (row * cols + col). */
+	public CellState getCellState(int index) {
+		return stateAt(index);
+	}
+
+	public int indexOf(int r, int c) {
+		return r * cols + c;
+	}
+
+	/** Shared Coordinate for a row-major index; never allocates. */
+	public Coordinate coordinateAt(int index) {
+		return coordinates[index];
+	}
+
+	private CellState stateAt(int index) {
+		if (hitCells.get(index)) return CellState.HIT;
+		if (missCells.get(index)) return CellState.MISS;
+		if (shipCells.get(index)) return CellState.SHIP;
+		return CellState.EMPTY;
 	}
 
 	public boolean inBounds(Coordinate c) {
@@ -37,8 +99,7 @@ public class Board {
 		for(int i = 0; i < length; i++) {
 			int r = start.row() + (horizontal ? 0 : i);
 			int c = start.col() + (horizontal ? i : 0);
-			Coordinate coord = new Coordinate(r,c);
-			if(!inBounds(coord) || grid[r][c] != CellState.EMPTY) {
+			if(!inBounds(r, c) || stateAt(r * cols + c) != CellState.EMPTY) {
 				return false;
 			}
 			if (isAdjacentOccupied(r, c)) {
@@ -53,14 +114,23 @@ public class Board {
 		if(!canPlaceShip(ship.getType(), start, horizontal)) {
 			throw new IllegalArgumentException("Invalid ship placement");
 		}
+		if(ships.size() >= Byte.MAX_VALUE) {
+			throw new IllegalStateException("Too many ships on one board");
+		}
+		ships.add(ship);
+		byte slot = (byte) ships.size();
 		for(int i = 0; i < length; i++) {
 			int r = start.row() + (horizontal ? 0 : i);
 			int c = start.col() + (horizontal ? i : 0);
-			Coordinate coord = new Coordinate(r,c);
-			ship.addCoordinate(coord);
-			grid[r][c] = CellState.SHIP;
+			ship.addCoordinate(coordinates[r * cols + c]);
+			int index = r * cols + c;
+			int before = cellBits(index);
+			shipCells.set(index);
+			shipIndex[index] = slot;
+			rehashCell(index, before);
+			fireCellChanged(index);
 		}
-		ships.add(ship);
+		shipCellsRemaining += length;
 	}
 
 	/**
@@ -74,7 +144,7 @@ public class Board {
 				int nr = r + dr;
 				int nc = c + dc;
 				if (!inBounds(nr, nc)) continue;
-				if (grid[nr][nc] == CellState.SHIP) {
+				if (stateAt(nr * cols + nc) == CellState.SHIP) {
 					return true;
 				}
 			}
@@ -89,26 +159,43 @@ public class Board {
             return ShotOutcome.OUT_OF_BOUNDS;
         }
 
-        CellState state = grid[target.row()][target.col()];
+        int index = target.row() * cols + target.col();
+        CellState state = stateAt(index);
 
         if (state == CellState.MISS || state == CellState.HIT) {
             return ShotOutcome.ALREADY_TARGETED;
         }
 
         if (state == CellState.SHIP) {
-            Ship hitShip = findShipAt(target)
-                    .orElseThrow(() -> new IllegalArgumentException("No ship at cell but state is SHIP"));
+            Ship hitShip = shipAt(index);
+            if (hitShip == null) {
+                throw new IllegalArgumentException("No ship at cell but state is SHIP");
+            }
             boolean wasShielded = hitShip.hasShield();
+            boolean wasSunk = hitShip.isSunk();
             hitShip.registerHit();
-            grid[target.row()][target.col()] = CellState.HIT;
+            journalCell(index);
+            hitCells.set(index);
+            cellHash ^= Zobrist.cell(index, 2);
+            shipCellsRemaining--;
+            fireCellChanged(index);
 
             if (hitShip.isSunk()) {
+                if (!wasSunk) {
+                    sunkShips++;
+                    for (int i = 0; i < listeners.size(); i++) {
+                        listeners.get(i).shipSunk(this, hitShip);
+                    }
+                }
                 return ShotOutcome.SUNK;
             }
             return wasShielded ? ShotOutcome.SHIELDED_HIT : ShotOutcome.HIT;
         }
 
-        grid[target.row()][target.col()] = CellState.MISS;
+        journalCell(index);
+        missCells.set(index);
+        cellHash ^= Zobrist.cell(index, 4);
+        fireCellChanged(index);
         return ShotOutcome.MISS;
     }
 
@@ -117,7 +204,21 @@ public class Board {
 	}
 
 	public Optional<Ship> findShipAt(Coordinate c) {
-		return ships.stream().filter(s -> s.occupies(c)).findFirst();
+		return Optional.ofNullable(shipAt(c));
+	}
+
+	/** Ship occupying the cell, or null. Constant time, no allocation. */
+	public Ship shipAt(Coordinate c) {
+		return c != null && inBounds(c) ? shipAt(c.row() * cols + c.col()) : null;
+	}
+
+	public boolean hasShipAt(int r, int c) {
+		return inBounds(r, c) && shipIndex[r * cols + c] != 0;
+	}
+
+	private Ship shipAt(int index) {
+		int slot = shipIndex[index];
+		return slot == 0 ? null : ships.get(slot - 1);
 	}
 	
 	public List<Ship> getShips() {
@@ -126,37 +227,160 @@ public class Board {
 
 	public void markSeen(Coordinate c, CellState state) {
     	if (!inBounds(c)) throw new IllegalArgumentException("Out of bounds");
-    	grid[c.row()][c.col()] = state;
+		int index = c.row() * cols + c.col();
+		boolean wasShip = stateAt(index) == CellState.SHIP;
+		int before = cellBits(index);
+		journalCell(index);
+		hitCells.clear(index);
+		missCells.clear(index);
+		switch (state) {
+			case HIT -> hitCells.set(index);
+			case MISS -> missCells.set(index);
+			case SHIP -> shipCells.set(index);
+			case EMPTY -> shipCells.clear(index);
+		}
+		rehashCell(index, before);
+		fireCellChanged(index);
+		boolean isShip = stateAt(index) == CellState.SHIP;
+		if (wasShip != isShip) {
+			shipCellsRemaining += isShip ? 1 : -1;
+		}
+	}
+
+	public void addListener(BoardListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(BoardListener listener) {
+		listeners.remove(listener);
+	}
+
+	private void fireCellChanged(int index) {
+		if (listeners.isEmpty()) return;
+		CellState state = stateAt(index);
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).cellChanged(this, index, state);
+		}
+	}
+
+	void attachJournal(TurnJournal journal, int journalId) {
+		this.journal = journal;
+		this.journalId = journalId;
+	}
+
+	private void journalCell(int index) {
+		if (journal != null) {
+			journal.recordCell(journalId, index, cellBits(index));
+		}
+	}
+
+	private int cellBits(int index) {
+		return (shipCells.get(index) ? 1 : 0)
+			| (hitCells.get(index) ? 2 : 0)
+			| (missCells.get(index) ? 4 : 0);
+	}
+
+	void restoreCell(int index, int bits) {
+		int before = cellBits(index);
+		if ((bits & 1) != 0) shipCells.set(index); else shipCells.clear(index);
+		if ((bits & 2) != 0) hitCells.set(index); else hitCells.clear(index);
+		if ((bits & 4) != 0) missCells.set(index); else missCells.clear(index);
+		rehashCell(index, before);
+		fireCellChanged(index);
+	}
+
+	private void rehashCell(int index, int beforeBits) {
+		cellHash ^= Zobrist.cell(index, beforeBits ^ cellBits(index));
+	}
+
+	/**
+	 * Zobrist hash of this board: the incrementally kept cell hash folded with
+	 * each ship's health and shield.
+	 */
+	public long hash() {
+		long h = cellHash;
+		for (int i = 0; i < ships.size(); i++) {
+			Ship ship = ships.get(i);
+			h ^= Zobrist.key(Zobrist.SHIP, i, ship.getRemainingHealth());
+			if (ship.hasShield()) {
+				h ^= Zobrist.key(Zobrist.SHIELD, i, 0);
+			}
+		}
+		return h;
+	}
+
+	void restoreCounters(int shipCellsRemaining, int sunkShips) {
+		this.shipCellsRemaining = shipCellsRemaining;
+		this.sunkShips = sunkShips;
 	}
 
 	// resets board
 	public void reset() {
-		for (int r = 0; r < rows; r++) {
-			Arrays.fill(grid[r], CellState.EMPTY);
-		}
+		shipCells.clearAll();
+		hitCells.clearAll();
+		missCells.clearAll();
+		Arrays.fill(shipIndex, (byte) 0);
 		ships.clear();
+		shipCellsRemaining = 0;
+		sunkShips = 0;
+		cellHash = 0;
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).boardReset(this);
+		}
 	}
 
 	public boolean allShipsSunkByGrid() {
-            for (CellState[] grid1 : grid) {
-                for (CellState grid11 : grid1) {
-                    if (grid11 == CellState.SHIP) {
-                        return false;
-                    }
-                }
-            }
-		return true;
+		assert shipCellsRemaining == scanShipCells() : "Board: ship cell counter out of sync";
+		return shipCellsRemaining == 0;
 	}
 
 	public int countShipCells() {
+		return shipCellsRemaining;
+	}
+
+	public int getSunkShipCount() {
+		return sunkShips;
+	}
+
+	public int getShipsRemaining() {
+		return ships.size() - sunkShips;
+	}
+
+	private int scanShipCells() {
+		long[] ship = shipCells.words;
+		long[] hit = hitCells.words;
+		long[] miss = missCells.words;
 		int count = 0;
-		for (CellState[] grid1 : grid) {
-                for (CellState grid11 : grid1) {
-                    if (grid11 == CellState.SHIP) {
-                        count++;
-                    }
-                }
-            }
+		for (int i = 0; i < ship.length; i++) {
+			count += Long.bitCount(ship[i] & ~hit[i] & ~miss[i]);
+		}
 		return count;
 	}
+
+	/** Number of cells still reading EMPTY (never shot at, no ship). */
+	public int countUnknownCells() {
+		long[] ship = shipCells.words;
+		long[] hit = hitCells.words;
+		long[] miss = missCells.words;
+		int known = 0;
+		for (int i = 0; i < ship.length; i++) {
+			known += Long.bitCount(ship[i] | hit[i] | miss[i]);
+		}
+		return rows * cols - known;
+	}
+
+	/** Snapshot of every EMPTY cell. */
+	public BitGrid unknownCells() {
+		return shipCells.copy().or(hitCells).or(missCells).invert();
+	}
+
+	/** Snapshot of every HIT cell. */
+	public BitGrid hitCells() {
+		return hitCells.copy();
+	}
+
+	/** EMPTY cells orthogonally adjacent to a HIT, i.e. the target-mode frontier. */
+	public BitGrid hitFrontier() {
+		return hitCells.orthogonalNeighbors().and(unknownCells());
+	}
 }
@@ -0,0 +1,15 @@
+package com.chase.battleship.core;
+
+/**
+ * Observer for cell-level Board changes, so views can repaint only what changed.
+ * Calls happen on whichever thread mutates the board.
+ */
+public interface BoardListener {
+	/** A cell now reads {@code state}; index is row * cols + col. */
+	void cellChanged(Board board, int index, CellState state);
+
+	default void shipSunk(Board board, Ship ship) {}
+
+	/** Every cell and ship was cleared (Board.reset). */
+	default void boardReset(Board board) {}
+}
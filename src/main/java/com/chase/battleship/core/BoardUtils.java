@@ -1,8 +1,9 @@
 package com.chase.battleship.core;
 
 import com.chase.battleship.cli.BoardPrinter;
-import java.util.Random;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public final class BoardUtils {
 	private static final ShipType[] DEFAULT_FLEET = {
@@ -13,34 +14,17 @@ public final class BoardUtils {
 		ShipType.DESTROYER
 	};
 
-	private static final Random RANDOM = new Random();
-
 	private BoardUtils() {}
 
+	/** Unseeded, for layouts no replay depends on (e.g. the setup screen's shuffle button). */
 	public static void randomFleetPlacement(Board board) {
-		board.reset();
-		for(ShipType type : DEFAULT_FLEET) {
-			placeRandomShip(board, type);
-		}
+		randomFleetPlacement(board, ThreadLocalRandom.current());
 	}
 
-	private static void placeRandomShip(Board board, ShipType type) {
-		while(true) {
-			boolean horizontal = RANDOM.nextBoolean();
-			int maxRow = horizontal ? board.getRows() : board.getRows() - type.getLength() + 1;
-			int maxCol = horizontal ? board.getCols() - type.getLength() + 1 : board.getCols();
-
-			int r = RANDOM.nextInt(maxRow);
-			int c = RANDOM.nextInt(maxCol);
-
-			Coordinate start = new Coordinate(r,c);
-			if(board.canPlaceShip(type, start, horizontal)) {
-				Ship ship = new Ship(type);
-				board.placeShip(ship, start, horizontal);
-				return;
-			}
-			// else loop again until we find a valid position
-		}
+	/** Same, drawing from the given generator so a seeded game gets the same fleets. */
+	public static void randomFleetPlacement(Board board, RandomGenerator random) {
+		board.reset();
+		FleetPlacer.place(board, DEFAULT_FLEET, random);
 	}
 
 	public static void setupBoardInteractive(Board board) {
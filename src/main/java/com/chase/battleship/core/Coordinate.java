@@ -1,9 +1,52 @@
 package com.chase.battleship.core;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public record Coordinate(int row, int col) {
+	// shared instances for every board up to CACHE_DIM x CACHE_DIM
+	private static final int CACHE_DIM = 32;
+	private static final Coordinate[] CACHE = new Coordinate[CACHE_DIM * CACHE_DIM];
+	// row-major tables for larger boards, shared by boards of the same size
+	private static final Map<Long, Coordinate[]> TABLES = new ConcurrentHashMap<>();
+
+	static {
+		for (int r = 0; r < CACHE_DIM; r++) {
+			for (int c = 0; c < CACHE_DIM; c++) {
+				CACHE[r * CACHE_DIM + c] = new Coordinate(r, c);
+			}
+		}
+	}
+
 	public Coordinate {
 		if(row < 0 || col < 0) {
 			throw new IllegalArgumentException("Negative indices not allowed");
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Canonical instance for (row, col); only allocates outside the shared cache.
+	 */
+	public static Coordinate of(int row, int col) {
+		if (row >= 0 && row < CACHE_DIM && col >= 0 && col < CACHE_DIM) {
+			return CACHE[row * CACHE_DIM + col];
+		}
+		return new Coordinate(row, col);
+	}
+
+	/**
+	 * Row-major table of every coordinate on a rows x cols board (index = row * cols + col).
+	 */
+	static Coordinate[] table(int rows, int cols) {
+		long key = ((long) rows << 32) | (cols & 0xffffffffL);
+		return TABLES.computeIfAbsent(key, k -> {
+			Coordinate[] table = new Coordinate[rows * cols];
+			for (int r = 0; r < rows; r++) {
+				for (int c = 0; c < cols; c++) {
+					table[r * cols + c] = of(r, c);
+				}
+			}
+			return table;
+		});
+	}
+}
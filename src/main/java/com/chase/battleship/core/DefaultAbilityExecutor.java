@@ -1,12 +1,22 @@
 package com.chase.battleship.core;
 
-import java.util.Random;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 
 public class DefaultAbilityExecutor implements AbilityExecutor {
-	private final Random random = new Random();
+	private final RandomGenerator random;
+
+	public DefaultAbilityExecutor() {
+		this(new SplittableRandom());
+	}
+
+	/** Auto-targeted abilities draw from random, e.g. MatchRandom.abilities(). */
+	public DefaultAbilityExecutor(RandomGenerator random) {
+		this.random = random;
+	}
 
 	@Override
 	public AbilityResult execute(
@@ -26,7 +36,7 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 
 	private AbilityResult doEmp(PlayerState user, PlayerState opponent) {
 		opponent.applyEmpLock(2);
-		return new AbilityResult("EMP deployed! "+ opponent.getName() + "'s abilties disabled for 2 turns");
+		return new AbilityResult(List.of(new TurnEvent.EmpApplied(opponent.getName(), 2)));
 	}
 
 	private AbilityResult doMultishot(GameState gameState,
@@ -49,11 +59,13 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 		int hits = 0;
 		int sunk = 0;
 		int shots = targets.size();
+		List<TurnEvent> events = new ArrayList<>(shots * 2 + 1);
 
 		for (Coordinate c : targets) {
 			if (!enemyBoard.inBounds(c)) continue;
 
 			ShotOutcome outcome = enemyBoard.fireAt(c);
+			addShot(enemyBoard, c, outcome, events);
 
 			if (outcome == ShotOutcome.MISS ||
 				outcome == ShotOutcome.HIT ||
@@ -75,9 +87,8 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 			}
 		}
 
-		String desc = "Multishot (manual): fired " + shots + ", hits=" + hits;
-		if (sunk > 0) desc += ", ships sunk=" + sunk;
-		return new AbilityResult(desc);
+		events.add(new TurnEvent.MultishotFired(true, shots, hits, sunk));
+		return new AbilityResult(events);
 	}
 
 	private AbilityResult autoMultishotAI(PlayerState user,
@@ -85,66 +96,31 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 		Board tracking   = user.getTrackingBoard();
 		Board enemyBoard = opponent.getOwnBoard();
 
-		int rows = tracking.getRows();
-		int cols = tracking.getCols();
-
-		List<Coordinate> cluster = new ArrayList<>();
-		boolean[][] seen = new boolean[rows][cols];
-
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < cols; c++) {
-				Coordinate hit = new Coordinate(r, c);
-				if (tracking.getCellState(hit) == CellState.HIT) {
-					int[][] dirs = {
-							{-1, 0}, {1, 0},
-							{0, -1}, {0, 1}
-					};
-					for (int[] d : dirs) {
-						int nr = r + d[0];
-						int nc = c + d[1];
-						if (nr < 0 || nr >= rows || nc < 0 || nc >= cols) continue;
-						if (seen[nr][nc]) continue;
-						Coordinate nb = new Coordinate(nr, nc);
-						if (tracking.getCellState(nb) == CellState.EMPTY) {
-							seen[nr][nc] = true;
-							cluster.add(nb);
-						}
-					}
-				}
-			}
-		}
-
-		List<Coordinate> empties = new ArrayList<>();
-		for (int r = 0; r < rows; r++) {
-			for (int c = 0; c < cols; c++) {
-				Coordinate coord = new Coordinate(r, c);
-				if (tracking.getCellState(coord) == CellState.EMPTY) {
-					empties.add(coord);
-				}
-			}
-		}
+		// unknown cells next to a hit are listed twice, weighting the shuffle towards them
+		BitGrid cluster = tracking.hitFrontier();
+		BitGrid empties = tracking.unknownCells();
 
-		List<Coordinate> candidates = new ArrayList<>();
-		if (!cluster.isEmpty()) candidates.addAll(cluster);
-		candidates.addAll(empties);
+		List<Coordinate> candidates = new ArrayList<>(cluster.cardinality() + empties.cardinality());
+		addAll(tracking, cluster, candidates);
+		addAll(tracking, empties, candidates);
 
 		if (candidates.isEmpty()) {
-			for (int r = 0; r < rows; r++) {
-				for (int c = 0; c < cols; c++) {
-					candidates.add(new Coordinate(r, c));
-				}
+			for (int i = 0; i < tracking.getRows() * tracking.getCols(); i++) {
+				candidates.add(tracking.coordinateAt(i));
 			}
 		}
 
-		Collections.shuffle(candidates);
+		Collections.shuffle(candidates, random);
 
 		int shots = Math.min(3, candidates.size());
 		int hits = 0;
 		int sunk = 0;
+		List<TurnEvent> events = new ArrayList<>(shots * 2 + 1);
 
 		for (int i = 0; i < shots; i++) {
 			Coordinate c = candidates.get(i);
 			ShotOutcome outcome = enemyBoard.fireAt(c);
+			addShot(enemyBoard, c, outcome, events);
 
 			if (outcome == ShotOutcome.MISS ||
 				outcome == ShotOutcome.HIT ||
@@ -162,33 +138,42 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 			else if (outcome == ShotOutcome.SUNK) { hits++; sunk++; }
 		}
 
-		String desc = "Multishot fired " + shots + " shots, hits=" + hits;
-		if (sunk > 0) desc += ", ships sunk=" + sunk;
-		return new AbilityResult(desc);
+		events.add(new TurnEvent.MultishotFired(false, shots, hits, sunk));
+		return new AbilityResult(events);
 	}
 
+	private static void addShot(Board enemyBoard, Coordinate c, ShotOutcome outcome, List<TurnEvent> events) {
+		events.add(new TurnEvent.Shot(c, outcome));
+		if (outcome == ShotOutcome.SUNK) {
+			events.add(new TurnEvent.ShipSunk(enemyBoard.shipAt(c).getType(), enemyBoard.getShipsRemaining()));
+		}
+	}
 
-
+	private static void addAll(Board board, BitGrid cells, List<Coordinate> out) {
+		for (int i = cells.nextSetBit(0); i >= 0; i = cells.nextSetBit(i + 1)) {
+			out.add(board.coordinateAt(i));
+		}
+	}
 
 	private Coordinate randomCoordinate(Board b) {
 		int r = random.nextInt(b.getRows());
 		int c = random.nextInt(b.getCols());
-		return new Coordinate(r,c);
+		return Coordinate.of(r, c);
 	}
 
 	private AbilityResult doShield(PlayerState user, AbilityTarget target) {
-		Ship ship = user.getOwnBoard().findShipAt(target.coordinate()).orElse(null);
+		Ship ship = user.getOwnBoard().shipAt(target.coordinate());
 		if(ship == null) {
-			return new AbilityResult("No ship at target coordinate, shield wasted.");
+			return new AbilityResult(List.of(new TurnEvent.ShieldApplied(null, target.coordinate())));
 		}
 		ship.applyShield();
-		return new AbilityResult("Shield applied to " +ship.getType() + " at "+ target.coordinate().row() + "," + target.coordinate().col());
+		return new AbilityResult(List.of(new TurnEvent.ShieldApplied(ship.getType(), target.coordinate())));
 	}
 
 	private AbilityResult doSonar(PlayerState user, PlayerState opponent, AbilityTarget target) {
 		Coordinate center = target.coordinate();
 		if(center == null) {
-			return new AbilityResult("Sonar failed: no center coordinate specified.");
+			return new AbilityResult(List.of(new TurnEvent.SonarScan(null, List.of())));
 		}
 
         Board enemyBoard = opponent.getOwnBoard();
@@ -200,35 +185,11 @@ public class DefaultAbilityExecutor implements AbilityExecutor {
 				int nr = center.row() + dr;
 				int nc = center.col() + dc;
 
-				if(!enemyBoard.inBounds(nr, nc)) {
-					continue;
-				}
-
-				Coordinate c = new Coordinate(nr,nc);
-
-                if(enemyBoard.findShipAt(c).isPresent()) {
-                    hits.add(c);
+                if(enemyBoard.hasShipAt(nr, nc)) {
+                    hits.add(Coordinate.of(nr, nc));
                 }
             }
         }
-		StringBuilder sb = new StringBuilder();
-		sb.append(String.format(
-			"Sonar scan at (%d,%d) detected %d ship segment(s) in the 3x3 area: ",
-			center.row(), center.col(), hits.size()
-		));
-		for(int i = 0; i < hits.size(); i++) {
-			Coordinate c = hits.get(i);
-			sb.append("(").append(c.row()).append(",").append(c.col()).append(")");
-			if(i < hits.size() - 1) sb.append(", ");
-		}
-		sb.append(".");
-		if (hits.isEmpty()) {
-			sb = new StringBuilder(String.format(
-					"Sonar scan at (%d,%d) found no ship segments in the 3x3 area.",
-					center.row(), center.col()
-			));
-		}
-
-		return new AbilityResult(sb.toString());
+		return new AbilityResult(List.of(new TurnEvent.SonarScan(center, hits)));
 	}
 }
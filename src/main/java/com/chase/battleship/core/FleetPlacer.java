@@ -0,0 +1,486 @@
+package com.chase.battleship.core;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Random fleet layouts without rejection sampling. Every ship keeps the set of
+ * placements that are still legal (in bounds, no overlap, no touching another
+ * ship) as a bitmask; each ship is drawn uniformly from its set and placing it
+ * strikes out everything inside its halo for the ships still to come.
+ *
+ * Placement ids live in a BitGrid of 2 * rows by cols: id = start index for a
+ * horizontal ship, rows * cols + start index for a vertical one. The placements
+ * over a rectangle of cells are a run of ids per row in each orientation, so
+ * halos are struck out straight from a ship's footprint and a sampler holds
+ * O(cells) bits per ship; only small boards also memoize the halo conflicts.
+ */
+public final class FleetPlacer {
+	// placements tried before place() gives up on a board with no room for the fleet
+	private static final long PLACE_NODE_LIMIT = 200_000;
+	// place() reuses each thread's sampler (and its halo memo) while the board size and fleet stay the same
+	private static final ThreadLocal<Sampler> LAST_SAMPLER = new ThreadLocal<>();
+
+	private FleetPlacer() {}
+
+	/** Every in-bounds placement of a ship of the given length. */
+	private static BitGrid allPlacements(int rows, int cols, int length) {
+		int size = rows * cols;
+		BitGrid all = new BitGrid(rows * 2, cols);
+		for (int r = 0; r < rows; r++) {
+			for (int c = 0; c < cols; c++) {
+				int start = r * cols + c;
+				if (c + length <= cols) {
+					all.set(start);
+				}
+				// a single cell is the same placement either way round
+				if (length > 1 && r + length <= rows) {
+					all.set(size + start);
+				}
+			}
+		}
+		return all;
+	}
+
+	/**
+	 * Places the whole fleet on the board, around anything already on it.
+	 * Throws IllegalStateException when no legal layout exists or none turns up
+	 * within PLACE_NODE_LIMIT placements; the board is left untouched in that case.
+	 */
+	public static void place(Board board, ShipType[] fleet, RandomGenerator random) {
+		int rows = board.getRows();
+		int cols = board.getCols();
+		Sampler sampler = LAST_SAMPLER.get();
+		if (sampler == null || !sampler.fits(rows, cols, fleet)) {
+			sampler = new Sampler(rows, cols, fleet);
+			LAST_SAMPLER.set(sampler);
+		} else {
+			sampler.reset();
+		}
+
+		boolean blank = board.countUnknownCells() == rows * cols;
+		for (int i = 0; !blank && i < rows * cols; i++) {
+			CellState state = board.getCellState(i);
+			if (state == CellState.SHIP) {
+				sampler.blockHalo(i / cols, i % cols);
+			} else if (state != CellState.EMPTY) {
+				sampler.block(i);
+			}
+		}
+		for (int k = 0; k < fleet.length; k++) {
+			if (sampler.legal[0][k].isEmpty()) {
+				throw new IllegalStateException("No room for " + fleet[sampler.order[k]] + " on a " + rows + "x" + cols + " board");
+			}
+		}
+		if (!sampler.run(null, random, PLACE_NODE_LIMIT)) {
+			throw new IllegalStateException("No legal fleet layout found on a " + rows + "x" + cols + " board");
+		}
+
+		int size = rows * cols;
+		int n = fleet.length;
+		Ship[] ships = new Ship[n];
+		Coordinate[] starts = new Coordinate[n];
+		boolean[] horizontal = new boolean[n];
+		for (int k = 0; k < n; k++) {
+			int id = sampler.chosen[k];
+			int slot = sampler.order[k];
+			ships[slot] = new Ship(fleet[slot]);
+			starts[slot] = board.coordinateAt(id < size ? id : id - size);
+			horizontal[slot] = id < size;
+		}
+		// keep the board's ship list in fleet order
+		for (int i = 0; i < n; i++) {
+			board.placeShip(ships[i], starts[i], horizontal[i]);
+		}
+	}
+
+	/**
+	 * Search state for one board size and fleet, reusable across draws so hot
+	 * loops (Monte Carlo agents, training data) don't allocate per layout.
+	 * Not thread-safe: give each worker its own.
+	 */
+	public static final class Sampler {
+		// placements tried before a single draw gives up
+		private static final long NODE_LIMIT = 20_000;
+		// up to this many cells a sampler memoizes halo conflicts: 2 * cells squared
+		// bits per pair of ships, about 640 KB for the default fleet at 16x16
+		private static final int MEMO_CELLS = 256;
+
+		private final int rows;
+		private final int cols;
+		private final int size;
+		private final int n;
+		private final ShipType[] fleet;
+		// ships are indexed in this order: longest first, since they are the
+		// hardest to fit and dead ends show up early
+		private final int[] order;
+		private final int[] lengths;
+		// all[k]: every in-bounds placement of ship k
+		private final BitGrid[] all;
+		// legal[depth][k]: placements still open for ship k once depth ships are down
+		private final BitGrid[][] legal;
+		// base[k]: legal[0][k] for the blocked cells of the last draw, which were lastBlocked
+		private final BitGrid[] base;
+		private final BitGrid lastBlocked;
+		// keep[k][j][id]: the placements of ship j that don't touch placement id of ship k,
+		// filled in as the search meets them; null on boards above MEMO_CELLS
+		private final BitGrid[][][] keep;
+		// covered[depth]: cells under the ships placed so far (only tracked when cells must be covered)
+		private final BitGrid[] covered;
+		private final BitGrid[][] candidates;
+		private final boolean[] placed;
+		private final int[] chosen;
+		private long nodesLeft;
+		private long nodesVisited;
+
+		public Sampler(int rows, int cols, ShipType[] fleet) {
+			this.rows = rows;
+			this.cols = cols;
+			this.size = rows * cols;
+			this.n = fleet.length;
+			this.fleet = fleet.clone();
+
+			order = new int[n];
+			for (int i = 0; i < n; i++) order[i] = i;
+			for (int i = 1; i < n; i++) {
+				int o = order[i];
+				int j = i - 1;
+				while (j >= 0 && fleet[order[j]].getLength() < fleet[o].getLength()) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = o;
+			}
+
+			lengths = new int[n];
+			all = new BitGrid[n];
+			for (int k = 0; k < n; k++) {
+				lengths[k] = fleet[order[k]].getLength();
+				all[k] = allPlacements(rows, cols, lengths[k]);
+			}
+			legal = new BitGrid[n][n];
+			candidates = new BitGrid[n][n];
+			for (int a = 0; a < n; a++) {
+				for (int b = 0; b < n; b++) {
+					legal[a][b] = a == 0 ? all[b].copy() : new BitGrid(rows * 2, cols);
+					candidates[a][b] = new BitGrid(rows * 2, cols);
+				}
+			}
+			base = new BitGrid[n];
+			for (int k = 0; k < n; k++) {
+				base[k] = all[k].copy();
+			}
+			lastBlocked = new BitGrid(rows, cols);
+			keep = size <= MEMO_CELLS ? new BitGrid[n][n][] : null;
+			covered = new BitGrid[n + 1];
+			for (int d = 0; d <= n; d++) {
+				covered[d] = new BitGrid(rows, cols);
+			}
+			placed = new boolean[n];
+			chosen = new int[n];
+		}
+
+		/**
+		 * Draws one layout that avoids blocked cells, keeps ships from touching and
+		 * puts a ship on every cell of mustCover (may be null). On success the
+		 * occupied cells are written to occupied; returns false if no layout turned
+		 * up within the search limit.
+		 */
+		public boolean sample(BitGrid blocked, BitGrid mustCover, RandomGenerator random, BitGrid occupied) {
+			// callers draw many layouts around the same blocked cells
+			boolean same = Arrays.equals(blocked.words, lastBlocked.words);
+			for (int k = 0; k < n; k++) {
+				BitGrid from = same ? base[k] : all[k];
+				System.arraycopy(from.words, 0, legal[0][k].words, 0, legal[0][k].words.length);
+			}
+			if (!same) {
+				for (int i = blocked.nextSetBit(0); i >= 0; i = blocked.nextSetBit(i + 1)) {
+					block(i);
+				}
+				System.arraycopy(blocked.words, 0, lastBlocked.words, 0, lastBlocked.words.length);
+				for (int k = 0; k < n; k++) {
+					System.arraycopy(legal[0][k].words, 0, base[k].words, 0, base[k].words.length);
+				}
+			}
+			if (!run(mustCover != null && !mustCover.isEmpty() ? mustCover : null, random, NODE_LIMIT)) {
+				return false;
+			}
+			occupied.clearAll();
+			for (int k = 0; k < n; k++) {
+				int id = chosen[k];
+				int start = id < size ? id : id - size;
+				int step = id < size ? 1 : cols;
+				for (int i = 0; i < lengths[k]; i++) {
+					occupied.set(start + i * step);
+				}
+			}
+			return true;
+		}
+
+		boolean fits(int rows, int cols, ShipType[] fleet) {
+			return this.rows == rows && this.cols == cols && Arrays.equals(this.fleet, fleet);
+		}
+
+		// every placement open again, for place() to block cells on
+		void reset() {
+			for (int k = 0; k < n; k++) {
+				System.arraycopy(all[k].words, 0, legal[0][k].words, 0, all[k].words.length);
+			}
+		}
+
+		/** Placements tried over every draw so far. */
+		public long getNodesVisited() {
+			return nodesVisited;
+		}
+
+		void block(int cell) {
+			for (int k = 0; k < n; k++) {
+				clearCovering(rows, cols, cell, lengths[k], legal[0][k]);
+			}
+		}
+
+		void blockHalo(int row, int col) {
+			for (int k = 0; k < n; k++) {
+				FleetPlacer.blockHalo(rows, cols, row, col, 1, true, lengths[k], legal[0][k]);
+			}
+		}
+
+		boolean run(BitGrid must, RandomGenerator random, long nodeLimit) {
+			nodesLeft = nodeLimit;
+			if (must != null) {
+				covered[0].clearAll();
+			}
+			boolean found = search(0, must, random);
+			nodesVisited += nodeLimit - Math.max(nodesLeft, 0);
+			return found;
+		}
+
+		/**
+		 * While a must cell is uncovered, the next ship and placement are drawn
+		 * from everything that covers it; after that ships go down in order.
+		 */
+		private boolean search(int depth, BitGrid must, RandomGenerator random) {
+			if (depth == n) {
+				return must == null || covers(covered[n], must);
+			}
+			int target = -1;
+			if (must != null) {
+				if (!coverable(depth, must)) return false;
+				target = firstUncovered(depth, must);
+			}
+
+			if (target < 0) {
+				int k = 0;
+				while (placed[k]) k++;
+				BitGrid open = candidates[depth][k];
+				System.arraycopy(legal[depth][k].words, 0, open.words, 0, open.words.length);
+				int remaining = open.cardinality();
+				while (remaining > 0 && nodesLeft-- > 0) {
+					int id = open.nthSetBit(random.nextInt(remaining));
+					open.clear(id);
+					remaining--;
+					if (tryPlace(depth, k, id, must, random)) return true;
+				}
+				return false;
+			}
+
+			int remaining = 0;
+			for (int k = 0; k < n; k++) {
+				if (placed[k]) continue;
+				BitGrid open = candidates[depth][k];
+				open.clearAll();
+				remaining += collectCovering(rows, cols, target, lengths[k], legal[depth][k], open);
+			}
+			while (remaining > 0 && nodesLeft-- > 0) {
+				int pick = random.nextInt(remaining);
+				int k = 0;
+				int id = -1;
+				for (; k < n; k++) {
+					if (placed[k]) continue;
+					int count = candidates[depth][k].cardinality();
+					if (pick < count) {
+						id = candidates[depth][k].nthSetBit(pick);
+						break;
+					}
+					pick -= count;
+				}
+				candidates[depth][k].clear(id);
+				remaining--;
+				if (tryPlace(depth, k, id, must, random)) return true;
+			}
+			return false;
+		}
+
+		private boolean tryPlace(int depth, int k, int id, BitGrid must, RandomGenerator random) {
+			placed[k] = true;
+			if (must != null) {
+				cover(depth, k, id);
+			}
+			boolean ok = (depth + 1 == n || narrow(depth, k, id)) && search(depth + 1, must, random);
+			placed[k] = false;
+			if (ok) {
+				chosen[k] = id;
+			}
+			return ok;
+		}
+
+		/**
+		 * legal[depth + 1][j] = legal[depth][j] minus whatever touches placement id
+		 * of ship k, for every ship still to place. False once one has nothing left.
+		 */
+		private boolean narrow(int depth, int k, int id) {
+			boolean horizontal = id < size;
+			int start = horizontal ? id : id - size;
+			for (int j = 0; j < n; j++) {
+				if (placed[j]) continue;
+				BitGrid next = legal[depth + 1][j];
+				if (keep == null) {
+					System.arraycopy(legal[depth][j].words, 0, next.words, 0, next.words.length);
+					FleetPlacer.blockHalo(rows, cols, start / cols, start % cols, lengths[k], horizontal, lengths[j], next);
+					if (next.isEmpty()) return false;
+					continue;
+				}
+				long[] src = legal[depth][j].words;
+				long[] mask = keep(k, j, id).words;
+				long[] dst = next.words;
+				long any = 0;
+				for (int w = 0; w < dst.length; w++) {
+					dst[w] = src[w] & mask[w];
+					any |= dst[w];
+				}
+				if (any == 0) return false;
+			}
+			return true;
+		}
+
+		private BitGrid keep(int k, int j, int id) {
+			if (keep[k][j] == null) {
+				keep[k][j] = new BitGrid[2 * size];
+			}
+			BitGrid mask = keep[k][j][id];
+			if (mask == null) {
+				boolean horizontal = id < size;
+				int start = horizontal ? id : id - size;
+				mask = all[j].copy();
+				FleetPlacer.blockHalo(rows, cols, start / cols, start % cols, lengths[k], horizontal, lengths[j], mask);
+				keep[k][j][id] = mask;
+			}
+			return mask;
+		}
+
+		private void cover(int depth, int k, int id) {
+			BitGrid next = covered[depth + 1];
+			System.arraycopy(covered[depth].words, 0, next.words, 0, next.words.length);
+			int start = id < size ? id : id - size;
+			int step = id < size ? 1 : cols;
+			for (int i = 0; i < lengths[k]; i++) {
+				next.set(start + i * step);
+			}
+		}
+
+		private int firstUncovered(int depth, BitGrid must) {
+			long[] done = covered[depth].words;
+			for (int w = 0; w < done.length; w++) {
+				long open = must.words[w] & ~done[w];
+				if (open != 0) {
+					return (w << 6) + Long.numberOfTrailingZeros(open);
+				}
+			}
+			return -1;
+		}
+
+		// every must cell not yet under a ship can still be reached by one of the ships left
+		private boolean coverable(int depth, BitGrid must) {
+			BitGrid done = covered[depth];
+			for (int m = must.nextSetBit(0); m >= 0; m = must.nextSetBit(m + 1)) {
+				if (done.get(m)) continue;
+				boolean reachable = false;
+				for (int k = 0; k < n && !reachable; k++) {
+					reachable = !placed[k] && collectCovering(rows, cols, m, lengths[k], legal[depth][k], null) > 0;
+				}
+				if (!reachable) return false;
+			}
+			return true;
+		}
+	}
+
+	private static boolean covers(BitGrid cells, BitGrid must) {
+		for (int w = 0; w < must.words.length; w++) {
+			if ((must.words[w] & ~cells.words[w]) != 0) return false;
+		}
+		return true;
+	}
+
+	/** Clears from legal every placement of an otherLength-long ship touching the ship's footprint or its 8-neighbourhood. */
+	private static void blockHalo(int rows, int cols, int row, int col, int length, boolean horizontal,
+			int otherLength, BitGrid legal) {
+		int lastRow = horizontal ? row + 1 : row + length;
+		int lastCol = horizontal ? col + length : col + 1;
+		clearOver(rows, cols, Math.max(0, row - 1), Math.min(rows - 1, lastRow),
+				Math.max(0, col - 1), Math.min(cols - 1, lastCol), otherLength, legal);
+	}
+
+	private static void clearCovering(int rows, int cols, int cell, int length, BitGrid legal) {
+		int row = cell / cols;
+		int col = cell % cols;
+		clearOver(rows, cols, row, row, col, col, length, legal);
+	}
+
+	/**
+	 * Clears every placement of a length-long ship with a cell in rows r0..r1, cols c0..c1.
+	 * Their starts form one rectangle of horizontal ids and one of vertical ids, each
+	 * row of which is a run of bits; ids that would run off the board are never set,
+	 * so clearing them too is harmless.
+	 */
+	private static void clearOver(int rows, int cols, int r0, int r1, int c0, int c1, int length, BitGrid legal) {
+		int size = rows * cols;
+		int from = Math.max(0, c0 - length + 1);
+		for (int r = r0; r <= r1; r++) {
+			clearRange(legal.words, r * cols + from, r * cols + c1);
+		}
+		if (length > 1) {
+			for (int r = Math.max(0, r0 - length + 1); r <= r1; r++) {
+				clearRange(legal.words, size + r * cols + c0, size + r * cols + c1);
+			}
+		}
+	}
+
+	// bits from..to, both inclusive
+	private static void clearRange(long[] words, int from, int to) {
+		int first = from >>> 6;
+		int last = to >>> 6;
+		long head = -1L << from;
+		long tail = -1L >>> (63 - (to & 63));
+		if (first == last) {
+			words[first] &= ~(head & tail);
+			return;
+		}
+		words[first] &= ~head;
+		for (int w = first + 1; w < last; w++) {
+			words[w] = 0;
+		}
+		words[last] &= ~tail;
+	}
+
+	/** Counts the placements in legal over cell, also setting them in out unless it is null. */
+	private static int collectCovering(int rows, int cols, int cell, int length, BitGrid legal, BitGrid out) {
+		int size = rows * cols;
+		int row = cell / cols;
+		int col = cell % cols;
+		int count = 0;
+		for (int i = 0; i < length && i <= col; i++) {
+			if (legal.get(cell - i)) {
+				count++;
+				if (out != null) out.set(cell - i);
+			}
+		}
+		for (int i = 0; length > 1 && i < length && i <= row; i++) {
+			int id = size + cell - i * cols;
+			if (legal.get(id)) {
+				count++;
+				if (out != null) out.set(id);
+			}
+		}
+		return count;
+	}
+}
@@ -2,12 +2,15 @@ package com.chase.battleship.core;
 
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.OptionalLong;
 
 public class GameConfig {
 	private final int rows;
 	private final int cols;
 	private final GameMode gameMode;
 	private final Map<AbilityType, AbilityRule> abilityRules = new EnumMap<>(AbilityType.class);
+	// unset: every match draws a fresh seed
+	private OptionalLong seed = OptionalLong.empty();
 
 	public GameConfig(int rows, int cols, GameMode gameMode) {
 		this.rows = rows;
@@ -48,4 +51,13 @@ public class GameConfig {
 	public Map<AbilityType, AbilityRule> getAbilityRules() {
 		return abilityRules;
 	}
+
+	/** Seed for MatchRandom.of(config); the same seed and moves replay the same match. */
+	public OptionalLong getSeed() {
+		return seed;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = OptionalLong.of(seed);
+	}
 }
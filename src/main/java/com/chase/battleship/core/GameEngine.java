@@ -1,8 +1,13 @@
 package com.chase.battleship.core;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class GameEngine {
     private final GameState gameState;
     private final AbilityExecutor abilityExecutor;
+    private TurnJournal journal;
+    private final List<GameListener> listeners = new ArrayList<>(1);
 
     public GameEngine(GameState state, AbilityExecutor abilityExecutor) {
         this.gameState = state;
@@ -13,35 +18,111 @@ public class GameEngine {
         return gameState;
     }
 
+    /**
+     * Turns undo recording on or off. While on, every processTurn call pushes a
+     * frame that {@link #undo()} pops, so a search can make and unmake moves on
+     * one GameState. Turning it off drops any recorded frames.
+     */
+    public void setUndoable(boolean undoable) {
+        if (undoable && journal == null) {
+            journal = new TurnJournal(gameState);
+            journal.attach();
+        } else if (!undoable && journal != null) {
+            journal.detach();
+            journal = null;
+        }
+    }
+
+    public boolean canUndo() {
+        return journal != null && !journal.isEmpty();
+    }
+
+    /**
+     * Restores the state from before the most recent recorded processTurn call.
+     */
+    public void undo() {
+        if (journal == null) {
+            throw new IllegalStateException("Undo recording is not enabled");
+        }
+        journal.undo();
+    }
+
+    public void addListener(GameListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(GameListener listener) {
+        listeners.remove(listener);
+    }
+
     public TurnResult processTurn(TurnAction action) {
+        PlayerState current = gameState.getCurrentPlayer();
+        PlayerState other = gameState.getOtherPlayer();
+        TurnResult result;
+        if (journal == null) {
+            result = applyTurn(action);
+        } else {
+            journal.begin();
+            try {
+                result = applyTurn(action);
+            } finally {
+                journal.end();
+            }
+        }
+        if (!listeners.isEmpty()) {
+            notifyListeners(action, result, current, other);
+        }
+        return result;
+    }
+
+    private void notifyListeners(TurnAction action, TurnResult result, PlayerState current, PlayerState other) {
+        for (TurnEvent event : result.events()) {
+            if (event instanceof TurnEvent.AbilityUsed used) {
+                listeners.forEach(l -> l.abilityStateChanged(current, used.type()));
+            } else if (event instanceof TurnEvent.EmpApplied) {
+                listeners.forEach(l -> l.abilityStateChanged(other, null));
+            }
+        }
+        listeners.forEach(l -> l.turnProcessed(action, result));
+        if (result.newState() == null) {
+            return;
+        }
+        if (gameState.isGameOver()) {
+            listeners.forEach(l -> l.gameOver(gameState, gameState.getWinner()));
+        } else {
+            listeners.forEach(l -> l.turnAdvanced(gameState));
+        }
+    }
 
+    private TurnResult applyTurn(TurnAction action) {
         if (gameState.isGameOver()) {
-            return new TurnResult(false, "Game already over", null);
+            return new TurnResult(false, List.of(new TurnEvent.Rejected(TurnEvent.Reason.GAME_OVER)), null);
         }
 
         PlayerState current = gameState.getCurrentPlayer();
         PlayerState other = gameState.getOtherPlayer();
 
-        String msg;
+        List<TurnEvent> events = new ArrayList<>(4);
         switch (action) {
-            case FireAction fire -> msg = handleFire(current, other, fire.target());
-            case UseAbilityAction use -> msg = handleAbility(current, other, use);
-            default -> msg = "Unknown action";
+            case FireAction fire -> handleFire(current, other, fire.target(), events);
+            case UseAbilityAction use -> handleAbility(current, other, use, events);
+            default -> events.add(new TurnEvent.Rejected(TurnEvent.Reason.UNKNOWN_ACTION));
         }
 
         Board enemyBoard = other.getOwnBoard();
         if (enemyBoard.allShipsSunkByGrid()) {
             gameState.endGame();
             gameState.setWinner(current);
-            msg += "\n" + current.getName() + " wins!";
+            events.add(new TurnEvent.GameWon(current.getName()));
         } else {
             gameState.nextTurn();
         }
-        return new TurnResult(true, msg, gameState);
+        return new TurnResult(true, events, gameState);
     }
 
-    private String handleFire(PlayerState current, PlayerState other, Coordinate target) {
-        ShotOutcome outcome = other.getOwnBoard().fireAt(target);
+    private void handleFire(PlayerState current, PlayerState other, Coordinate target, List<TurnEvent> events) {
+        Board enemyBoard = other.getOwnBoard();
+        ShotOutcome outcome = enemyBoard.fireAt(target);
 
         if (outcome == ShotOutcome.MISS || outcome == ShotOutcome.HIT
                 || outcome == ShotOutcome.SUNK || outcome == ShotOutcome.SHIELDED_HIT) {
@@ -53,27 +134,33 @@ public class GameEngine {
             }
         }
 
-        char colLetter = (char) ('A' + target.col());
-        return "Fired at " + (target.row() + 1) + "," + colLetter + " => " + outcome;
+        events.add(new TurnEvent.Shot(target, outcome));
+        if (outcome == ShotOutcome.SUNK) {
+            events.add(new TurnEvent.ShipSunk(enemyBoard.shipAt(target).getType(), enemyBoard.getShipsRemaining()));
+        }
     }
 
-    private String handleAbility(PlayerState current, PlayerState other, UseAbilityAction use) {
+    private void handleAbility(PlayerState current, PlayerState other, UseAbilityAction use, List<TurnEvent> events) {
         if (!gameState.getConfig().getGameMode().isNeoRetro()) {
-            return "Abilities not available in Classic mode";
+            events.add(new TurnEvent.Rejected(TurnEvent.Reason.CLASSIC_MODE));
+            return;
         }
 
         if (current.abilitiesLocked()) {
-            return "Your abilities are disabled by EMP!";
+            events.add(new TurnEvent.Rejected(TurnEvent.Reason.EMP_LOCKED));
+            return;
         }
 
         AbilityRule rule = gameState.getConfig().getAbilityRules().get(use.abilityType());
         AbilityStatus status = current.getAbilities().getStatus(use.abilityType());
 
         if (status == null) {
-            return "Ability not configured";
+            events.add(new TurnEvent.Rejected(TurnEvent.Reason.NOT_CONFIGURED));
+            return;
         }
         if (!status.isAvailable()) {
-            return "Ability on cooldown or out of charges";
+            events.add(new TurnEvent.Rejected(TurnEvent.Reason.UNAVAILABLE));
+            return;
         }
 
         status.consume(rule);
@@ -85,6 +172,11 @@ public class GameEngine {
                 use.target()
         );
 
-        return "Used " + use.abilityType() + ": " + res.description();
+        events.add(new TurnEvent.AbilityUsed(use.abilityType()));
+        if (res.events().isEmpty()) {
+            events.add(new TurnEvent.Note(res.description()));
+        } else {
+            events.addAll(res.events());
+        }
     }
 }
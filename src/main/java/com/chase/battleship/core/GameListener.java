@@ -0,0 +1,17 @@
+package com.chase.battleship.core;
+
+/**
+ * Observer for GameEngine turn flow. All methods are optional.
+ */
+public interface GameListener {
+	/** Called after each processTurn, once the state is final for that turn. */
+	default void turnProcessed(TurnAction action, TurnResult result) {}
+
+	/** The current player changed and the new player's cooldowns/EMP ticked. */
+	default void turnAdvanced(GameState state) {}
+
+	/** Charges/cooldown of {@code type} changed for {@code player}, or their EMP lock did (type null). */
+	default void abilityStateChanged(PlayerState player, AbilityType type) {}
+
+	default void gameOver(GameState state, PlayerState winner) {}
+}
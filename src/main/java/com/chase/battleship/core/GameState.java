@@ -17,6 +17,36 @@ public class GameState {
 		assert invariantCurrentPlayer() : "GameState: invariant failed in constructor";
 	}
 
+	private GameState(GameState other) {
+		this.config = other.config;
+		this.player1 = other.player1.copy();
+		this.player2 = other.player2.copy();
+		this.player1Turn = other.player1Turn;
+		this.gameOver = other.gameOver;
+		if (other.winner == other.player1) {
+			this.winner = player1;
+		} else if (other.winner == other.player2) {
+			this.winner = player2;
+		}
+	}
+
+	/**
+	 * Deep copy of the whole position (boards, ships, ability charges/cooldowns,
+	 * EMP locks, turn flag) that can be mutated without touching this state.
+	 * The config is shared.
+	 */
+	public GameState fork() {
+		return new GameState(this);
+	}
+
+	public PlayerState getPlayer1() {
+		return player1;
+	}
+
+	public PlayerState getPlayer2() {
+		return player2;
+	}
+
 	private boolean invariantCurrentPlayer() {
         PlayerState current = getCurrentPlayer();
         PlayerState other = getOtherPlayer();
@@ -55,6 +85,28 @@ public class GameState {
 		this.winner = winner;
 	}
 
+	/**
+	 * 64-bit Zobrist hash of the position. Cell changes are hashed incrementally
+	 * by Board; players, ships, abilities and the turn flag fold in a handful of
+	 * keys, so this never walks the grid.
+	 */
+	public long hash() {
+		long h = player1.hash() ^ Long.rotateLeft(player2.hash(), 32);
+		if (player1Turn) h ^= Zobrist.key(Zobrist.TURN, 0, 0);
+		if (gameOver) h ^= Zobrist.key(Zobrist.OVER, 0, 0);
+		return h;
+	}
+
+	public boolean isPlayer1Turn() {
+		return player1Turn;
+	}
+
+	void restore(boolean player1Turn, boolean gameOver, PlayerState winner) {
+		this.player1Turn = player1Turn;
+		this.gameOver = gameOver;
+		this.winner = winner;
+	}
+
 	public void nextTurn() {
 		assert !isGameOver() : "GameState: nextTurn called after game over";
         player1Turn = !player1Turn;
@@ -0,0 +1,50 @@
+package com.chase.battleship.core;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * All the randomness of one match. A single seeded SplittableRandom is split,
+ * always in the same order, into one stream per consumer: each player's fleet,
+ * the ability executor and each player's agent. Streams share no state, so one
+ * seed replays the whole match (given the same moves from humans) and parallel
+ * games never contend on a common java.util.Random.
+ *
+ * A stream belongs to one thread at a time; split it again to hand work to
+ * other threads.
+ */
+public final class MatchRandom {
+	private final long seed;
+	private final SplittableGenerator[] fleets;
+	private final SplittableGenerator abilities;
+	private final SplittableGenerator[] agents;
+
+	public MatchRandom(long seed) {
+		this.seed = seed;
+		SplittableGenerator root = new SplittableRandom(seed);
+		this.fleets = new SplittableGenerator[] { root.split(), root.split() };
+		this.abilities = root.split();
+		this.agents = new SplittableGenerator[] { root.split(), root.split() };
+	}
+
+	/** Uses the config's seed if it has one, a fresh one otherwise. */
+	public static MatchRandom of(GameConfig config) {
+		return new MatchRandom(config.getSeed().orElseGet(() -> new SplittableRandom().nextLong()));
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public SplittableGenerator fleet(boolean player1) {
+		return fleets[player1 ? 0 : 1];
+	}
+
+	public SplittableGenerator abilities() {
+		return abilities;
+	}
+
+	public SplittableGenerator agent(boolean player1) {
+		return agents[player1 ? 0 : 1];
+	}
+}
@@ -10,6 +10,14 @@ public class PlayerAbilities {
 		rules.forEach((type, rule) -> statusMap.put(type, new AbilityStatus(rule.getMaxCharges())));
 	}
 
+	private PlayerAbilities(PlayerAbilities other) {
+		other.statusMap.forEach((type, status) -> statusMap.put(type, status.copy()));
+	}
+
+	PlayerAbilities copy() {
+		return new PlayerAbilities(this);
+	}
+
 	public AbilityStatus getStatus(AbilityType type) {
 		return statusMap.get(type);
 	}
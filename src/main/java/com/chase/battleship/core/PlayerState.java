@@ -17,15 +17,57 @@ public class PlayerState {
 		this.empLockTurnsRemaining = 0;
 	}
 
+	private PlayerState(PlayerState other) {
+		this.name = other.name;
+		this.ownBoard = other.ownBoard.copy();
+		this.trackingBoard = other.trackingBoard.copy();
+		this.abilities = other.abilities != null ? other.abilities.copy() : null;
+		this.empLockTurnsRemaining = other.empLockTurnsRemaining;
+	}
+
+	PlayerState copy() {
+		return new PlayerState(this);
+	}
+
 	public String getName() { return name; }
 	public Board getOwnBoard() { return ownBoard; }
 	public Board getTrackingBoard() { return trackingBoard; }
 	public PlayerAbilities getAbilities() { return abilities; }
 
+	/** Zobrist hash of both boards, the EMP lock and ability charges/cooldowns. */
+	public long hash() {
+		return ownBoard.hash() ^ viewHash();
+	}
+
+	/**
+	 * The same hash without the own board: everything this player knows and can
+	 * do, none of which the opponent's shots touch (an EMP does).
+	 */
+	public long viewHash() {
+		long h = Long.rotateLeft(trackingBoard.hash(), 16);
+		h ^= Zobrist.key(Zobrist.EMP, empLockTurnsRemaining, 0);
+		if (abilities != null) {
+			for (var e : abilities.getStatusMap().entrySet()) {
+				int type = e.getKey().ordinal();
+				h ^= Zobrist.key(Zobrist.CHARGES, type, e.getValue().getCharges());
+				h ^= Zobrist.key(Zobrist.COOLDOWN, type, e.getValue().getCooldownRemaining());
+			}
+		}
+		return h;
+	}
+
 	public boolean abilitiesLocked() {
 		return empLockTurnsRemaining > 0;
 	}
 
+	public int getEmpLockTurnsRemaining() {
+		return empLockTurnsRemaining;
+	}
+
+	void restoreEmpLock(int turns) {
+		this.empLockTurnsRemaining = turns;
+	}
+
 	public void applyEmpLock(int turns) {
 		this.empLockTurnsRemaining = Math.max(this.empLockTurnsRemaining, turns);
 	}
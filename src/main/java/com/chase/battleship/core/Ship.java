@@ -16,6 +16,14 @@ public class Ship {
 		this.shielded = false;
 	}
 
+	Ship copy() {
+		Ship copy = new Ship(type);
+		copy.coordinates.addAll(coordinates);
+		copy.remainingHealth = remainingHealth;
+		copy.shielded = shielded;
+		return copy;
+	}
+
 	public ShipType getType() {
 		return type;
 	}
@@ -32,6 +40,15 @@ public class Ship {
 		return coordinates.contains(c);
 	}
 
+	public int getRemainingHealth() {
+		return remainingHealth;
+	}
+
+	void restore(int remainingHealth, boolean shielded) {
+		this.remainingHealth = remainingHealth;
+		this.shielded = shielded;
+	}
+
 	public boolean isSunk() {
 		return remainingHealth <= 0;
 	}
@@ -0,0 +1,59 @@
+package com.chase.battleship.core;
+
+import java.util.List;
+
+/**
+ * What happened during a turn, in order. GameEngine and DefaultAbilityExecutor
+ * emit these instead of building strings; {@link TurnMessages} turns them into
+ * text only when someone asks for {@link TurnResult#message()}.
+ * A shot that hits a shield shows up as a Shot with outcome SHIELDED_HIT.
+ */
+public sealed interface TurnEvent {
+
+	/** A single shot at the opponent's board (plain fire or one multishot round). */
+	record Shot(Coordinate target, ShotOutcome outcome) implements TurnEvent {}
+
+	/** Follows the SUNK shot that finished a ship. */
+	record ShipSunk(ShipType type, int shipsRemaining) implements TurnEvent {}
+
+	/** An ability was paid for; the events that follow belong to it. */
+	record AbilityUsed(AbilityType type) implements TurnEvent {}
+
+	/** Summary that closes a multishot's Shot events. */
+	record MultishotFired(boolean manual, int shots, int hits, int sunk) implements TurnEvent {}
+
+	/** Ship segments seen by sonar; center is null when no center was given. */
+	record SonarScan(Coordinate center, List<Coordinate> contacts) implements TurnEvent {}
+
+	record EmpApplied(String targetName, int turns) implements TurnEvent {}
+
+	/** type is null when the shield target had no ship (shield wasted). */
+	record ShieldApplied(ShipType type, Coordinate at) implements TurnEvent {}
+
+	/** The action was not applied. */
+	record Rejected(Reason reason) implements TurnEvent {}
+
+	record GameWon(String winnerName) implements TurnEvent {}
+
+	/** Free text, used for AbilityExecutors that only return a description. */
+	record Note(String text) implements TurnEvent {}
+
+	enum Reason {
+		GAME_OVER("Game already over"),
+		UNKNOWN_ACTION("Unknown action"),
+		CLASSIC_MODE("Abilities not available in Classic mode"),
+		EMP_LOCKED("Your abilities are disabled by EMP!"),
+		NOT_CONFIGURED("Ability not configured"),
+		UNAVAILABLE("Ability on cooldown or out of charges");
+
+		private final String text;
+
+		Reason(String text) {
+			this.text = text;
+		}
+
+		public String getText() {
+			return text;
+		}
+	}
+}
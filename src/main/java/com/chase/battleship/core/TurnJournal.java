@@ -0,0 +1,154 @@
+package com.chase.battleship.core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Undo log for GameEngine. Each processed turn pushes one frame onto a flat
+ * int stack:
+ *
+ *   [scalar snapshot][cell writes (board, index, previous bits)...][cellCount][frameStart]
+ *
+ * The scalar snapshot holds the turn flag, game-over/winner, EMP locks,
+ * ability charges/cooldowns, board counters and every ship's health/shield.
+ * Cell writes are reported by the boards themselves as they happen.
+ */
+final class TurnJournal {
+	private final GameState state;
+	private final Board[] boards;
+	private int[] stack = new int[256];
+	private int top;
+	private int frameStart = -1;
+	private int cellCount;
+
+	TurnJournal(GameState state) {
+		this.state = state;
+		PlayerState p1 = state.getPlayer1();
+		PlayerState p2 = state.getPlayer2();
+		this.boards = new Board[] {
+			p1.getOwnBoard(), p1.getTrackingBoard(),
+			p2.getOwnBoard(), p2.getTrackingBoard()
+		};
+	}
+
+	void attach() {
+		for (int i = 0; i < boards.length; i++) {
+			boards[i].attachJournal(this, i);
+		}
+	}
+
+	void detach() {
+		for (Board b : boards) {
+			b.attachJournal(null, -1);
+		}
+		top = 0;
+	}
+
+	boolean isEmpty() {
+		return top == 0;
+	}
+
+	void begin() {
+		assert frameStart < 0 : "TurnJournal: nested frame";
+		frameStart = top;
+		cellCount = 0;
+		push(state.isPlayer1Turn() ? 1 : 0);
+		push(state.isGameOver() ? 1 : 0);
+		PlayerState winner = state.getWinner();
+		push(winner == null ? 0 : (winner == state.getPlayer1() ? 1 : 2));
+		pushPlayer(state.getPlayer1());
+		pushPlayer(state.getPlayer2());
+		for (Board b : boards) {
+			push(b.countShipCells());
+			push(b.getSunkShipCount());
+			for (Ship ship : b.getShips()) {
+				push(ship.getRemainingHealth());
+				push(ship.hasShield() ? 1 : 0);
+			}
+		}
+	}
+
+	void recordCell(int boardId, int index, int previousBits) {
+		if (frameStart < 0) return;
+		push(boardId);
+		push(index);
+		push(previousBits);
+		cellCount++;
+	}
+
+	void end() {
+		push(cellCount);
+		push(frameStart);
+		frameStart = -1;
+	}
+
+	void undo() {
+		if (top == 0) {
+			throw new IllegalStateException("Nothing to undo");
+		}
+		int start = stack[--top];
+		int cells = stack[--top];
+		for (int i = 0; i < cells; i++) {
+			int bits = stack[--top];
+			int index = stack[--top];
+			int boardId = stack[--top];
+			boards[boardId].restoreCell(index, bits);
+		}
+
+		int p = start;
+		boolean player1Turn = stack[p++] == 1;
+		boolean gameOver = stack[p++] == 1;
+		int winner = stack[p++];
+		state.restore(player1Turn, gameOver,
+				winner == 0 ? null : (winner == 1 ? state.getPlayer1() : state.getPlayer2()));
+		p = restorePlayer(state.getPlayer1(), p);
+		p = restorePlayer(state.getPlayer2(), p);
+		for (Board b : boards) {
+			int remaining = stack[p++];
+			int sunk = stack[p++];
+			b.restoreCounters(remaining, sunk);
+			List<Ship> ships = b.getShips();
+			for (Ship ship : ships) {
+				int health = stack[p++];
+				boolean shielded = stack[p++] == 1;
+				ship.restore(health, shielded);
+			}
+		}
+		top = start;
+	}
+
+	private void pushPlayer(PlayerState player) {
+		push(player.getEmpLockTurnsRemaining());
+		PlayerAbilities abilities = player.getAbilities();
+		if (abilities == null) return;
+		for (AbilityType type : AbilityType.values()) {
+			AbilityStatus status = abilities.getStatus(type);
+			if (status != null) {
+				push(status.getCharges());
+				push(status.getCooldownRemaining());
+			}
+		}
+	}
+
+	private int restorePlayer(PlayerState player, int p) {
+		player.restoreEmpLock(stack[p++]);
+		PlayerAbilities abilities = player.getAbilities();
+		if (abilities == null) return p;
+		for (AbilityType type : AbilityType.values()) {
+			AbilityStatus status = abilities.getStatus(type);
+			if (status != null) {
+				int charges = stack[p++];
+				int cooldown = stack[p++];
+				status.restore(charges, cooldown);
+			}
+		}
+		return p;
+	}
+
+	private void push(int v) {
+		if (top == stack.length) {
+			stack = Arrays.copyOf(stack, stack.length * 2);
+		}
+		stack[top++] = v;
+	}
+}
@@ -0,0 +1,91 @@
+package com.chase.battleship.core;
+
+import java.util.List;
+
+/**
+ * Builds the human-readable text for a list of TurnEvents. Only called when a
+ * caller actually reads a message, so headless runs never format strings.
+ */
+public final class TurnMessages {
+	private TurnMessages() {}
+
+	public static String describe(List<TurnEvent> events) {
+		return describe(events, false);
+	}
+
+	/**
+	 * @param abilityContext true when the events are an ability's own output
+	 *                       (AbilityResult), so shots are summarised rather than listed
+	 */
+	public static String describe(List<TurnEvent> events, boolean abilityContext) {
+		StringBuilder sb = new StringBuilder();
+		boolean inAbility = abilityContext;
+		for (TurnEvent event : events) {
+			switch (event) {
+				case TurnEvent.Shot shot -> {
+					if (!inAbility) {
+						Coordinate t = shot.target();
+						char colLetter = (char) ('A' + t.col());
+						sb.append("Fired at ").append(t.row() + 1).append(',').append(colLetter)
+								.append(" => ").append(shot.outcome());
+					}
+				}
+				case TurnEvent.ShipSunk sunk -> {
+					if (!inAbility) {
+						sb.append(" (").append(sunk.shipsRemaining()).append(" ships remaining)");
+					}
+				}
+				case TurnEvent.AbilityUsed used -> {
+					inAbility = true;
+					sb.append("Used ").append(used.type()).append(": ");
+				}
+				case TurnEvent.MultishotFired m -> {
+					if (m.manual()) {
+						sb.append("Multishot (manual): fired ").append(m.shots());
+					} else {
+						sb.append("Multishot fired ").append(m.shots()).append(" shots");
+					}
+					sb.append(", hits=").append(m.hits());
+					if (m.sunk() > 0) sb.append(", ships sunk=").append(m.sunk());
+				}
+				case TurnEvent.SonarScan scan -> appendSonar(sb, scan);
+				case TurnEvent.EmpApplied emp -> sb.append("EMP deployed! ").append(emp.targetName())
+						.append("'s abilties disabled for ").append(emp.turns()).append(" turns");
+				case TurnEvent.ShieldApplied shield -> {
+					if (shield.type() == null) {
+						sb.append("No ship at target coordinate, shield wasted.");
+					} else {
+						sb.append("Shield applied to ").append(shield.type()).append(" at ")
+								.append(shield.at().row()).append(',').append(shield.at().col());
+					}
+				}
+				case TurnEvent.Rejected rejected -> sb.append(rejected.reason().getText());
+				case TurnEvent.GameWon won -> sb.append('\n').append(won.winnerName()).append(" wins!");
+				case TurnEvent.Note note -> sb.append(note.text());
+			}
+		}
+		return sb.toString();
+	}
+
+	private static void appendSonar(StringBuilder sb, TurnEvent.SonarScan scan) {
+		Coordinate center = scan.center();
+		if (center == null) {
+			sb.append("Sonar failed: no center coordinate specified.");
+			return;
+		}
+		List<Coordinate> hits = scan.contacts();
+		if (hits.isEmpty()) {
+			sb.append(String.format("Sonar scan at (%d,%d) found no ship segments in the 3x3 area.",
+					center.row(), center.col()));
+			return;
+		}
+		sb.append(String.format("Sonar scan at (%d,%d) detected %d ship segment(s) in the 3x3 area: ",
+				center.row(), center.col(), hits.size()));
+		for (int i = 0; i < hits.size(); i++) {
+			Coordinate c = hits.get(i);
+			sb.append("(").append(c.row()).append(",").append(c.col()).append(")");
+			if (i < hits.size() - 1) sb.append(", ");
+		}
+		sb.append(".");
+	}
+}
@@ -1,3 +1,49 @@
 package com.chase.battleship.core;
 
-public record TurnResult(boolean success, String message, GameState newState) {}
\ No newline at end of file
+import java.util.List;
+
+/**
+ * Outcome of GameEngine.processTurn. The engine fills in typed events; the
+ * message text is built from them on first access.
+ */
+public final class TurnResult {
+	private final boolean success;
+	private final List<TurnEvent> events;
+	private final GameState newState;
+	private String message;
+
+	public TurnResult(boolean success, List<TurnEvent> events, GameState newState) {
+		this.success = success;
+		this.events = events;
+		this.newState = newState;
+	}
+
+	public TurnResult(boolean success, String message, GameState newState) {
+		this(success, List.of(), newState);
+		this.message = message;
+	}
+
+	public boolean success() {
+		return success;
+	}
+
+	public List<TurnEvent> events() {
+		return events;
+	}
+
+	public GameState newState() {
+		return newState;
+	}
+
+	public String message() {
+		if (message == null) {
+			message = TurnMessages.describe(events);
+		}
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "TurnResult[success=" + success + ", message=" + message() + "]";
+	}
+}
@@ -0,0 +1,35 @@
+package com.chase.battleship.core;
+
+/**
+ * Zobrist keys for position hashing. Keys are derived on the fly from a
+ * SplitMix64 finalizer, so any board size works without key tables and the
+ * same position hashes the same on every machine (handy for desync checks).
+ */
+final class Zobrist {
+	static final int CELL = 1;
+	static final int SHIP = 2;
+	static final int SHIELD = 3;
+	static final int EMP = 4;
+	static final int CHARGES = 5;
+	static final int COOLDOWN = 6;
+	static final int TURN = 7;
+	static final int OVER = 8;
+
+	private Zobrist() {}
+
+	static long key(int domain, int a, int b) {
+		long z = 0x9E3779B97F4A7C15L * domain + 0xBF58476D1CE4E5B9L * a + 0x94D049BB133111EBL * b;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/** XOR of the layer keys for a cell's bits (1 = ship, 2 = hit, 4 = miss). */
+	static long cell(int index, int bits) {
+		long h = 0;
+		if ((bits & 1) != 0) h ^= key(CELL, index, 0);
+		if ((bits & 2) != 0) h ^= key(CELL, index, 1);
+		if ((bits & 4) != 0) h ^= key(CELL, index, 2);
+		return h;
+	}
+}
@@ -2,7 +2,6 @@ package com.chase.battleship.gui;
 
 import com.chase.battleship.core.Board;
 import com.chase.battleship.core.CellState;
-import com.chase.battleship.core.Coordinate;
 
 import javafx.geometry.Insets;
 import javafx.scene.Node;
@@ -81,7 +80,7 @@ public class BoardView extends GridPane {
             Integer c = GridPane.getColumnIndex(rect);
             if (r == null || c == null) continue;
 
-            CellState state = board.getCellState(new Coordinate(r, c));
+            CellState state = board.getCellState(r, c);
             rect.setFill(colorFor(state));
             rect.setStroke(Color.web("#001f2b"));
         }
@@ -4,9 +4,19 @@ import com.chase.battleship.ai.DecisionTreeAI;
 import com.chase.battleship.ai.PlayerAgent;
 import com.chase.battleship.core.*;
 import com.chase.battleship.net.OnlinePeerConnection;
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GuiGameSession {
 
+    // think-time cap for the AI's move, so search agents keep turns snappy
+    private static final long AI_THINK_MILLIS = 400;
+    private static final Executor FX_THREAD = Platform::runLater;
+
     public enum Mode {
         CLASSIC_VS_AI,
         NEORETRO_VS_AI,
@@ -43,6 +53,13 @@ public class GuiGameSession {
 	private TurnAction lastRemoteAction;
 	private TurnAction lastAction;
 	private boolean lastActionByLocal;
+	// AI thinking and socket waits; one thread, so turns are computed in order.
+	// Virtual, so a match blocked on its peer holds no platform thread.
+	private final ExecutorService turnExecutor =
+			Executors.newSingleThreadExecutor(Thread.ofVirtual().name("turn-worker").factory());
+	// the AI's next move, worked out on a fork while the human is choosing
+	private CompletableFuture<TurnAction> speculation;
+	private long speculationKey;
 
     public GuiGameSession(Mode uiMode) {
         this(uiMode, null);
@@ -74,11 +91,15 @@ public class GuiGameSession {
                     case CLASSIC_ONLINE_HOST, NEORETRO_ONLINE_HOST, CLASSIC_ONLINE_CLIENT, NEORETRO_ONLINE_CLIENT -> false;
                 };
 
+                // pinned so a host can hand the same seed to its client
+                MatchRandom random = MatchRandom.of(config);
+                config.setSeed(random.getSeed());
+
                 if (randomizeP1) {
-                    BoardUtils.randomFleetPlacement(b1);
+                    BoardUtils.randomFleetPlacement(b1, random.fleet(true));
                 }
                 if (randomizeP2) {
-                    BoardUtils.randomFleetPlacement(b2);
+                    BoardUtils.randomFleetPlacement(b2, random.fleet(false));
                 }
 
 		PlayerState ps1 = new PlayerState("Player 1", b1, config);
@@ -87,7 +108,6 @@ public class GuiGameSession {
 		this.p2 = ps2;
 
 		this.state = new GameState(config, ps1, ps2);
-		this.engine = new GameEngine(state, new DefaultAbilityExecutor());
 
         boolean tmpP1Human;
         boolean tmpP2Human;
@@ -99,7 +119,7 @@ public class GuiGameSession {
                 tmpP1Human = true;
                 tmpP2Human = false;
                 tmpP1Agent = null;
-                tmpP2Agent = new DecisionTreeAI();
+                tmpP2Agent = new DecisionTreeAI(random.agent(false));
                 localPlayer = p1;
                 remotePlayer = p2;
                 online = false;
@@ -144,9 +164,12 @@ public class GuiGameSession {
                 OnlinePeerConnection conn = new OnlinePeerConnection(config, p1, p2, false, joinCode);
                 net = conn;
                 lobbyCode = null;
+                // the handshake carried the host's seed, if it sent one
+                random = MatchRandom.of(config);
             }
             default -> throw new IllegalStateException("Unexpected value: " + uiMode);
         }
+        this.engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
 
         this.p1IsHuman = tmpP1Human;
         this.p2IsHuman = tmpP2Human;
@@ -251,6 +274,7 @@ public class GuiGameSession {
         if (net != null) {
             net.close();
         }
+        turnExecutor.shutdownNow();
     }
 
     public Boolean isLocalWinner() {
@@ -282,40 +306,41 @@ public class GuiGameSession {
         return true;
     }
 
-    public TurnResult processHumanAction(TurnAction action) {
-        if (online) {
-            if (isHost) {
-                TurnResult res = engine.processTurn(action);
-                lastAction = action;
-                lastActionByLocal = true;
-                net.broadcastResult(action, res, state);
-                if (state.isGameOver()) {
-                    updateLocalWinFlagFromState();
-                }
-                return res;
-            } else {
-                net.sendLocalMove(action);
-                lastAction = action;
-                lastActionByLocal = true;
-                OnlinePeerConnection.RemoteUpdate update = net.waitForUpdate(engine);
-                if (update.winner() != null) {
-                    state.setWinner(update.winner());
-                    updateLocalWinFlagFromState();
-                }
-                return new TurnResult(update.localResult().success(), update.remoteMessage(), state);
-            }
+    /**
+     * Plays the local player's move. The engine is only touched on the FX thread;
+     * an online client waits for the host's reply on the turn worker.
+     */
+    public CompletableFuture<TurnResult> processHumanAction(TurnAction action) {
+        lastAction = action;
+        lastActionByLocal = true;
+        if (online && !isHost) {
+            return CompletableFuture
+                    .supplyAsync(() -> {
+                        net.sendLocalMove(action);
+                        return net.readUpdate();
+                    }, turnExecutor)
+                    .thenApplyAsync(update -> {
+                        OnlinePeerConnection.RemoteUpdate applied = applyHostUpdate(update);
+                        return new TurnResult(applied.localResult().success(), applied.remoteMessage(), state);
+                    }, FX_THREAD);
         }
         TurnResult res = engine.processTurn(action);
+        if (online) {
+            net.broadcastResult(action, res, state);
+        }
         if (state.isGameOver()) {
             updateLocalWinFlagFromState();
         }
-        lastAction = action;
-        lastActionByLocal = true;
-        return res;
+        return CompletableFuture.completedFuture(res);
     }
 
-    public TurnResult maybeLetAiAct() {
-        if (state.isGameOver()) return null;
+    /**
+     * Lets the AI or the remote player take their turn, if it is theirs. The AI
+     * thinks and sockets are read on the turn worker; the move is applied on the
+     * FX thread. Completes with null when there is nothing to play.
+     */
+    public CompletableFuture<TurnResult> maybeLetAiAct() {
+        if (state.isGameOver()) return CompletableFuture.completedFuture(null);
 
         PlayerState current = state.getCurrentPlayer();
         boolean isP1 = (current == p1);
@@ -323,41 +348,83 @@ public class GuiGameSession {
 
         if (online) {
             if (isHost) {
-                if (current == remotePlayer) {
-                    TurnAction action = net.waitForRemoteMove();
-                    lastRemoteAction = action;
-                    lastAction = action;
-                    lastActionByLocal = false;
-                    TurnResult res = engine.processTurn(action);
-                    net.broadcastResult(action, res, state);
-                    if (state.isGameOver()) {
-                        updateLocalWinFlagFromState();
-                    }
-                    return new TurnResult(res.success(), "Enemy: " + res.message(), state);
-                }
-                return null;
-            } else {
-                OnlinePeerConnection.RemoteUpdate update = net.waitForUpdate(engine);
-                lastRemoteAction = update.action();
-                if (update.action() != null) {
-                    lastAction = update.action();
-                    lastActionByLocal = false;
+                if (current != remotePlayer) {
+                    return CompletableFuture.completedFuture(null);
                 }
-                if (update.winner() != null) {
-                    state.setWinner(update.winner());
-                    updateLocalWinFlagFromState();
-                }
-                return new TurnResult(update.localResult().success(), update.remoteMessage(), state);
+                return CompletableFuture
+                        .supplyAsync(net::waitForRemoteMove, turnExecutor)
+                        .thenApplyAsync(this::applyRemoteMove, FX_THREAD);
             }
+            return CompletableFuture
+                    .supplyAsync(net::readUpdate, turnExecutor)
+                    .thenApplyAsync(update -> {
+                        OnlinePeerConnection.RemoteUpdate applied = applyHostUpdate(update);
+                        lastRemoteAction = applied.action();
+                        lastAction = applied.action();
+                        lastActionByLocal = false;
+                        return new TurnResult(applied.localResult().success(), applied.remoteMessage(), state);
+                    }, FX_THREAD);
         }
 
         if (agent == null) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
-        TurnAction aiAction = agent.chooseAction(state, isP1);
-        lastAction = aiAction;
+        CompletableFuture<TurnAction> move;
+        if (speculation != null && speculationKey == current.viewHash()
+                && !speculation.isCompletedExceptionally()) {
+            move = speculation;
+        } else {
+            // the FX thread leaves the state alone while a turn is pending
+            move = CompletableFuture.supplyAsync(
+                    () -> agent.chooseAction(state, isP1, AI_THINK_MILLIS).action(), turnExecutor);
+        }
+        speculation = null;
+        return move.thenApplyAsync(aiAction -> {
+            lastAction = aiAction;
+            lastActionByLocal = false;
+            TurnResult res = engine.processTurn(aiAction);
+            if (state.isGameOver()) {
+                updateLocalWinFlagFromState();
+            } else {
+                speculate(agent, isP1);
+            }
+            return res;
+        }, FX_THREAD);
+    }
+
+    /**
+     * Starts on the AI's next move as soon as its last one resolves. The human's
+     * turn can't change the AI's view except by EMP, so the agent thinks on a fork
+     * advanced to its own turn, and the move is kept under the view hash it saw.
+     */
+    private void speculate(PlayerAgent agent, boolean isP1) {
+        if (!agent.isViewOnly(config) || !isCurrentPlayerHuman()) return;
+        GameState ahead = state.fork();
+        ahead.nextTurn();
+        speculationKey = (isP1 ? ahead.getPlayer1() : ahead.getPlayer2()).viewHash();
+        speculation = CompletableFuture.supplyAsync(
+                () -> agent.chooseAction(ahead, isP1, AI_THINK_MILLIS).action(), turnExecutor);
+    }
+
+    private TurnResult applyRemoteMove(TurnAction action) {
+        lastRemoteAction = action;
+        lastAction = action;
         lastActionByLocal = false;
-        return engine.processTurn(aiAction);
+        TurnResult res = engine.processTurn(action);
+        net.broadcastResult(action, res, state);
+        if (state.isGameOver()) {
+            updateLocalWinFlagFromState();
+        }
+        return new TurnResult(res.success(), "Enemy: " + res.message(), state);
+    }
+
+    private OnlinePeerConnection.RemoteUpdate applyHostUpdate(OnlinePeerConnection.HostUpdate update) {
+        OnlinePeerConnection.RemoteUpdate applied = net.applyUpdate(engine, update);
+        if (applied.winner() != null) {
+            state.setWinner(applied.winner());
+            updateLocalWinFlagFromState();
+        }
+        return applied;
     }
 }
@@ -104,7 +104,7 @@ public class HostLobbyScreen extends BaseScreen {
         showRetry(false);
         session = null;
 
-        Thread setupThread = new Thread(() -> {
+        Thread.ofVirtual().name("host-setup").start(() -> {
             try {
                 GuiGameSession existingSession = manager.getCurrentSession();
                 GuiGameSession preparedSession = existingSession != null
@@ -132,10 +132,7 @@ public class HostLobbyScreen extends BaseScreen {
                     showRetry(true);
                 });
             }
-        }, "host-setup");
-
-        setupThread.setDaemon(true);
-        setupThread.start();
+        });
     }
 
     private void startWaitingForClient() {
@@ -145,7 +142,7 @@ public class HostLobbyScreen extends BaseScreen {
         stopWaiting();
         waiting = true;
 
-        Thread t = new Thread(() -> {
+        Thread.ofVirtual().name("host-lobby-wait").start(() -> {
             try {
                 session.waitForPeerReady();
                 if (!waiting) {
@@ -166,9 +163,7 @@ public class HostLobbyScreen extends BaseScreen {
                     manager.show(ScreenId.DISCONNECTED);
                 });
             }
-        }, "host-lobby-wait");
-        t.setDaemon(true);
-        t.start();
+        });
     }
 
     private void stopWaiting() {
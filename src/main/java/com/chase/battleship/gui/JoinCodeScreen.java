@@ -81,7 +81,7 @@ public class JoinCodeScreen extends BaseScreen {
             manager.setPendingJoinCode(code);
             manager.clearCurrentSession();
 
-            Thread joinThread = new Thread(() -> {
+            Thread.ofVirtual().name("join-connector").start(() -> {
                 try {
                     GuiGameSession session = new GuiGameSession(mode, code);
                     session.waitForPeerReady();
@@ -95,10 +95,7 @@ public class JoinCodeScreen extends BaseScreen {
                         joinBtn.setDisable(false);
                     });
                 }
-            }, "join-connector");
-
-            joinThread.setDaemon(true);
-            joinThread.start();
+            });
         });
 
         formBox.getChildren().addAll(title, info, modeRow, codeField, joinBtn, errorLabel);
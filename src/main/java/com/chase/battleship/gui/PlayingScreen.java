@@ -20,6 +20,8 @@ import javafx.scene.effect.DropShadow;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,8 +61,13 @@ public class PlayingScreen extends BaseScreen {
     private final Slider volumeSlider;
     private final Slider speedSlider;
     private final java.util.List<Coordinate> sonarHighlights = new java.util.ArrayList<>();
-    private final java.util.Map<Coordinate, CellState> lastMyBoardStates = new java.util.HashMap<>();
-    private final java.util.Map<Coordinate, CellState> lastEnemySeenStates = new java.util.HashMap<>();
+    private final Rectangle[][] myCells = new Rectangle[10][10];
+    private final Rectangle[][] enemyCells = new Rectangle[10][10];
+    private final java.util.Map<Board, BoardWatch> watches = new java.util.IdentityHashMap<>();
+    private Board shownOwnBoard;
+    private Board shownTrackingBoard;
+    private Board shownEnemyFleet;
+    private boolean sonarDirty = false;
     private final java.util.Set<String> sunkMyShipsShown = new java.util.HashSet<>();
     private PauseTransition actionClear;
 
@@ -110,7 +117,7 @@ public class PlayingScreen extends BaseScreen {
         topBar.setMaxWidth(Double.MAX_VALUE);
         root.setTop(topBar);
 
-        myGrid = createBoardGrid(false);
+        myGrid = createBoardGrid(false, myCells);
         myShipOverlay = new Pane();
         myShipOverlay.setMouseTransparent(true);
         double boardPixels = CELL_SIZE * 10 + myGrid.getHgap() * 9;
@@ -132,7 +139,7 @@ public class PlayingScreen extends BaseScreen {
         enemySelectRect.setStrokeWidth(1.6);
         myBoardStack = new StackPane(myGrid, myEffectOverlay, myShipOverlay);
         myBoardStack.setPickOnBounds(false);
-        enemyGrid = createBoardGrid(true);
+        enemyGrid = createBoardGrid(true, enemyCells);
         enemySunkOverlay = new Pane();
         enemySunkOverlay.setMouseTransparent(true);
         enemySunkOverlay.setPickOnBounds(false);
@@ -296,8 +303,7 @@ public class PlayingScreen extends BaseScreen {
     @Override
     public void onShow() {
         sonarHighlights.clear();
-        lastMyBoardStates.clear();
-        lastEnemySeenStates.clear();
+        detachWatches();
         sunkMyShipsShown.clear();
         myEffectOverlay.getChildren().clear();
         enemyEffectOverlay.getChildren().clear();
@@ -317,6 +323,7 @@ public class PlayingScreen extends BaseScreen {
         lastTurnOwner = session.getState().getCurrentPlayer();
         waitingForHandOff = false;
 
+        attachWatches();
         setupAbilityButtons();
         hideHandOffOverlay();
         syncFromState();
@@ -324,7 +331,7 @@ public class PlayingScreen extends BaseScreen {
         root.requestFocus();
     }
 
-    private GridPane createBoardGrid(boolean enemy) {
+    private GridPane createBoardGrid(boolean enemy, Rectangle[][] cells) {
         GridPane grid = new GridPane();
         grid.setHgap(3);
         grid.setVgap(3);
@@ -336,6 +343,7 @@ public class PlayingScreen extends BaseScreen {
                 cell.setStroke(Color.web("#123547"));
                 cell.setStrokeType(javafx.scene.shape.StrokeType.INSIDE);
                 grid.add(cell, c, r);
+                cells[r][c] = cell;
 
                 if (enemy) {
                     final int fr = r;
@@ -410,14 +418,27 @@ public class PlayingScreen extends BaseScreen {
     private void performHumanTurn(TurnAction action) {
         clearSonarHighlights();
         isProcessing = true;
-        TurnResult res;
+        GuiGameSession turnSession = session;
+        CompletableFuture<TurnResult> pending;
         try {
-            res = session.processHumanAction(action);
+            pending = turnSession.processHumanAction(action);
         } catch (Exception ex) {
             handleDisconnect(ex.getMessage());
             isProcessing = false;
             return;
         }
+        pending.whenCompleteAsync((res, ex) -> {
+            if (session != turnSession) return;
+            if (ex != null) {
+                handleDisconnect(rootCause(ex).getMessage());
+                isProcessing = false;
+                return;
+            }
+            finishHumanTurn(action, res);
+        }, Platform::runLater);
+    }
+
+    private void finishHumanTurn(TurnAction action, TurnResult res) {
         if (res != null) {
             actionLabel.setTextFill(Color.web("#f0f0f0"));
             updateMessages(formatActionMessage(action, res, true), null);
@@ -452,13 +473,27 @@ public class PlayingScreen extends BaseScreen {
         }
         if (isProcessing) return;
         isProcessing = true;
+        GuiGameSession turnSession = session;
         PauseTransition pause = new PauseTransition(TURN_DELAY);
-        pause.setOnFinished(e -> {
-            TurnResult autoRes;
-            try {
-                autoRes = session.maybeLetAiAct();
-            } catch (Exception ex) {
-                handleDisconnect(ex.getMessage());
+        pause.setOnFinished(e -> letOpponentAct(turnSession));
+        pause.play();
+    }
+
+    // the AI thinks (or the socket is read) off the FX thread; the result lands back here
+    private void letOpponentAct(GuiGameSession turnSession) {
+        if (session != turnSession) return;
+        CompletableFuture<TurnResult> pending;
+        try {
+            pending = turnSession.maybeLetAiAct();
+        } catch (Exception ex) {
+            handleDisconnect(ex.getMessage());
+            isProcessing = false;
+            return;
+        }
+        pending.whenCompleteAsync((autoRes, ex) -> {
+            if (session != turnSession) return;
+            if (ex != null) {
+                handleDisconnect(rootCause(ex).getMessage());
                 isProcessing = false;
                 return;
             }
@@ -474,8 +509,11 @@ public class PlayingScreen extends BaseScreen {
                 handleGameOver();
             }
             triggerRemoteIfNeeded();
-        });
-        pause.play();
+        }, Platform::runLater);
+    }
+
+    private static Throwable rootCause(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
     }
 
     private void syncFromState() {
@@ -510,13 +548,18 @@ public class PlayingScreen extends BaseScreen {
 
         Board myBoard = me.getOwnBoard();
         Board myTracking = me.getTrackingBoard();
+        Board enemyFleet = enemy == null ? null : enemy.getOwnBoard();
 
-        java.util.List<ShotMark> newEnemyMarks = collectNewMarks(myTracking, lastEnemySeenStates);
-        java.util.List<ShotMark> newMyMarks = collectNewMarks(myBoard, lastMyBoardStates);
+        java.util.List<ShotMark> newEnemyMarks = drainMarks(myTracking);
+        java.util.List<ShotMark> newMyMarks = drainMarks(myBoard);
 
         redrawOwnBoard(myBoard);
         redrawEnemyBoard(myTracking);
-        renderSunkEnemyShips(enemy);
+        boolean enemySunk = drainSunk(enemyFleet);
+        if (enemyFleet != shownEnemyFleet || enemySunk) {
+            renderSunkEnemyShips(enemy);
+            shownEnemyFleet = enemyFleet;
+        }
         refreshFleetPanel(me);
         animateSunkShips(myBoard);
 
@@ -540,21 +583,30 @@ public class PlayingScreen extends BaseScreen {
             }
             lastAnimatedAction = newestAction;
         }
-
-        snapshotBoard(myBoard, lastMyBoardStates);
-        snapshotBoard(myTracking, lastEnemySeenStates);
     }
 
+    /**
+     * Repaints the own-board grid. A full pass only happens when a different
+     * board is shown (local 2P hand-off); otherwise just the cells the board
+     * reported since the last sync are touched.
+     */
     private void redrawOwnBoard(Board board) {
-        for (Node node : myGrid.getChildren()) {
-            if (!(node instanceof Rectangle rect)) continue;
-            Integer cIdx = GridPane.getColumnIndex(node);
-            Integer rIdx = GridPane.getRowIndex(node);
-            int col = cIdx == null ? 0 : cIdx;
-            int row = rIdx == null ? 0 : rIdx;
-
-            CellState cs = board.getCellState(new Coordinate(row, col));
-            rect.setFill(colorForOwnCell(cs));
+        BoardWatch watch = watches.get(board);
+        if (board != shownOwnBoard || watch == null) {
+            for (int r = 0; r < myCells.length; r++) {
+                for (int c = 0; c < myCells[r].length; c++) {
+                    myCells[r][c].setFill(colorForOwnCell(board.getCellState(r, c)));
+                }
+            }
+            if (watch != null) watch.drainDirty();
+            shownOwnBoard = board;
+        } else {
+            int[] changed = watch.drainDirty();
+            if (changed.length == 0) return;
+            int cols = board.getCols();
+            for (int index : changed) {
+                myCells[index / cols][index % cols].setFill(colorForOwnCell(board.getCellState(index)));
+            }
         }
         renderOwnShipOverlay(board);
     }
@@ -649,21 +701,31 @@ public class PlayingScreen extends BaseScreen {
     }
 
     private void redrawEnemyBoard(Board tracking) {
-        for (Node node : enemyGrid.getChildren()) {
-            if (!(node instanceof Rectangle rect)) continue;
-            Integer cIdx = GridPane.getColumnIndex(node);
-            Integer rIdx = GridPane.getRowIndex(node);
-            int col = cIdx == null ? 0 : cIdx;
-            int row = rIdx == null ? 0 : rIdx;
-
-            Coordinate coord = new Coordinate(row, col);
-            if (sonarHighlights.contains(coord)) {
-                rect.setFill(Color.GOLD);
-                continue;
+        BoardWatch watch = watches.get(tracking);
+        if (tracking != shownTrackingBoard || sonarDirty || watch == null) {
+            for (int r = 0; r < enemyCells.length; r++) {
+                for (int c = 0; c < enemyCells[r].length; c++) {
+                    paintEnemyCell(tracking, r, c);
+                }
             }
-            CellState cs = tracking.getCellState(coord);
-            rect.setFill(colorForEnemyCell(cs));
+            if (watch != null) watch.drainDirty();
+            shownTrackingBoard = tracking;
+            sonarDirty = false;
+        } else {
+            int cols = tracking.getCols();
+            for (int index : watch.drainDirty()) {
+                paintEnemyCell(tracking, index / cols, index % cols);
+            }
+        }
+    }
+
+    private void paintEnemyCell(Board tracking, int row, int col) {
+        Rectangle rect = enemyCells[row][col];
+        if (!sonarHighlights.isEmpty() && sonarHighlights.contains(Coordinate.of(row, col))) {
+            rect.setFill(Color.GOLD);
+            return;
         }
+        rect.setFill(colorForEnemyCell(tracking.getCellState(row, col)));
     }
 
     private void renderSunkEnemyShips(PlayerState enemy) {
@@ -1075,12 +1137,14 @@ public class PlayingScreen extends BaseScreen {
                 sonarHighlights.add(new Coordinate(rr, cc));
             }
         }
+        sonarDirty = true;
         syncFromState();
     }
 
     private void clearSonarHighlights() {
         if (sonarHighlights.isEmpty()) return;
         sonarHighlights.clear();
+        sonarDirty = true;
         syncFromState();
     }
 
@@ -1205,17 +1269,11 @@ public class PlayingScreen extends BaseScreen {
     }
 
     private Rectangle findCell(GridPane grid, int row, int col) {
-        for (Node node : grid.getChildren()) {
-            if (!(node instanceof Rectangle rect)) continue;
-            Integer cIdx = GridPane.getColumnIndex(node);
-            Integer rIdx = GridPane.getRowIndex(node);
-            int c = cIdx == null ? 0 : cIdx;
-            int r = rIdx == null ? 0 : rIdx;
-            if (r == row && c == col) {
-                return rect;
-            }
+        Rectangle[][] cells = grid == enemyGrid ? enemyCells : myCells;
+        if (row < 0 || row >= cells.length || col < 0 || col >= cells[row].length) {
+            return null;
         }
-        return null;
+        return cells[row][col];
     }
 
     private double[] cellOrigin(GridPane grid, Pane overlay, Coordinate coord) {
@@ -1282,19 +1340,92 @@ public class PlayingScreen extends BaseScreen {
 
     private record ShotMark(Coordinate coord, boolean hit) {}
 
-    private java.util.List<ShotMark> collectNewMarks(Board board, java.util.Map<Coordinate, CellState> previous) {
-        java.util.List<ShotMark> events = new java.util.ArrayList<>();
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getCols(); c++) {
-                Coordinate coord = new Coordinate(r, c);
-                CellState current = board.getCellState(coord);
-                CellState prev = previous.getOrDefault(coord, CellState.EMPTY);
-                if (current != prev && (current == CellState.HIT || current == CellState.MISS)) {
-                    events.add(new ShotMark(coord, current == CellState.HIT));
-                }
+    /**
+     * Collects what a board reports between two syncs: the cells to repaint,
+     * the new shots to animate and whether a ship sank.
+     */
+    private static final class BoardWatch implements BoardListener {
+        private final CellState[] known;
+        private final java.util.BitSet dirty = new java.util.BitSet();
+        private final java.util.List<ShotMark> marks = new java.util.ArrayList<>();
+        private boolean sunk;
+
+        BoardWatch(Board board) {
+            known = new CellState[board.getRows() * board.getCols()];
+            for (int i = 0; i < known.length; i++) {
+                known[i] = board.getCellState(i);
+            }
+        }
+
+        @Override
+        public synchronized void cellChanged(Board board, int index, CellState state) {
+            CellState prev = known[index];
+            known[index] = state;
+            if (prev == state) return;
+            dirty.set(index);
+            if (state == CellState.HIT || state == CellState.MISS) {
+                marks.add(new ShotMark(board.coordinateAt(index), state == CellState.HIT));
+            }
+        }
+
+        @Override
+        public synchronized void shipSunk(Board board, Ship ship) {
+            sunk = true;
+        }
+
+        @Override
+        public synchronized void boardReset(Board board) {
+            java.util.Arrays.fill(known, CellState.EMPTY);
+            dirty.set(0, known.length);
+            marks.clear();
+            sunk = true;
+        }
+
+        synchronized int[] drainDirty() {
+            int[] changed = dirty.stream().toArray();
+            dirty.clear();
+            return changed;
+        }
+
+        synchronized java.util.List<ShotMark> drainMarks() {
+            java.util.List<ShotMark> out = new java.util.ArrayList<>(marks);
+            marks.clear();
+            return out;
+        }
+
+        synchronized boolean drainSunk() {
+            boolean was = sunk;
+            sunk = false;
+            return was;
+        }
+    }
+
+    private void attachWatches() {
+        for (PlayerState p : new PlayerState[] { session.getP1(), session.getP2() }) {
+            for (Board board : new Board[] { p.getOwnBoard(), p.getTrackingBoard() }) {
+                BoardWatch watch = new BoardWatch(board);
+                board.addListener(watch);
+                watches.put(board, watch);
             }
         }
-        return events;
+    }
+
+    private void detachWatches() {
+        watches.forEach((board, watch) -> board.removeListener(watch));
+        watches.clear();
+        shownOwnBoard = null;
+        shownTrackingBoard = null;
+        shownEnemyFleet = null;
+    }
+
+    private java.util.List<ShotMark> drainMarks(Board board) {
+        BoardWatch watch = watches.get(board);
+        return watch == null ? java.util.List.of() : watch.drainMarks();
+    }
+
+    private boolean drainSunk(Board board) {
+        BoardWatch watch = watches.get(board);
+        return watch != null && watch.drainSunk();
     }
 
     private void animateShots(java.util.List<ShotMark> marks, Pane overlay, GridPane grid, boolean enemyBoard) {
@@ -1529,14 +1660,4 @@ public class PlayingScreen extends BaseScreen {
             tl.play();
         }
     }
-
-    private void snapshotBoard(Board board, java.util.Map<Coordinate, CellState> target) {
-        target.clear();
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getCols(); c++) {
-                Coordinate coord = new Coordinate(r, c);
-                target.put(coord, board.getCellState(coord));
-            }
-        }
-    }
 }
@@ -226,7 +226,7 @@ public class SetupScreen extends BaseScreen {
         autoBtn.setDisable(true);
         manager.showLoading("Syncing fleets...");
 
-        Thread t = new Thread(() -> {
+        Thread.ofVirtual().name("setup-ready-sync").start(() -> {
             try {
                 session.syncPlacementsOnReady();
                 Platform.runLater(() -> {
@@ -242,9 +242,7 @@ public class SetupScreen extends BaseScreen {
                     manager.show(ScreenId.DISCONNECTED);
                 });
             }
-        }, "setup-ready-sync");
-        t.setDaemon(true);
-        t.start();
+        });
     }
 
     private GridPane createEmptyGrid(int rows, int cols) {
@@ -0,0 +1,305 @@
+package com.chase.battleship.net;
+
+import com.chase.battleship.core.*;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary framing for OnlinePeerConnection, used once both peers agreed on it in
+ * the hello. A frame is
+ *
+ *   [varint payload length][type byte][payload]
+ *
+ * with coordinates, counts and enum ordinals as unsigned varints (one byte
+ * each on boards up to 128 wide), strings as a varint byte length plus UTF-8
+ * and the position hash as 8 raw bytes. One host update (text: APPLY, MSG,
+ * OVER, HASH, STATE_END) is a single frame, as is a whole fleet.
+ *
+ * Frames are built in and parsed from buffers that are kept and grown as
+ * needed. Writing and reading use separate buffers, so one thread may send
+ * while another waits for the next frame. A payload that is cut short or
+ * holds an unknown ordinal or a malformed varint is reported as an
+ * IOException, like a broken connection.
+ */
+final class BinaryFrames {
+    static final byte MOVE = 1;
+    static final byte UPDATE = 2;
+    static final byte FLEET = 3;
+
+    // action kinds
+    private static final int FIRE = 0;
+    private static final int ABILITY = 1;
+    // ability target flags
+    private static final int HAS_COORDINATE = 1;
+    private static final int HAS_MANUAL = 2;
+    // a frame bigger than this is a broken peer, not a real message
+    private static final int MAX_FRAME = 1 << 20;
+    // room left in front of the payload for its length prefix
+    private static final int PREFIX = 5;
+
+    private static final ShipType[] SHIP_TYPES = ShipType.values();
+    private static final AbilityType[] ABILITY_TYPES = AbilityType.values();
+
+    private ByteBuffer out = ByteBuffer.allocate(256);
+    private ByteBuffer in = ByteBuffer.allocate(256);
+
+    /** Host update; winner is 0 while the game goes on (or ended without one), 1 or 2 for P1/P2. */
+    record Update(TurnAction action, String message, int winner, long hash) {}
+
+    record Fleet(boolean player1, List<ShipPlacement> ships) {}
+
+    // ---- writing ----
+
+    synchronized void sendMove(OutputStream os, TurnAction action) throws IOException {
+        begin(MOVE);
+        putAction(action);
+        end(os);
+    }
+
+    synchronized void sendUpdate(OutputStream os, TurnAction action, String message, int winner, long hash)
+            throws IOException {
+        begin(UPDATE);
+        putAction(action);
+        putString(message);
+        putVarint(winner);
+        ensure(8);
+        out.putLong(hash);
+        end(os);
+    }
+
+    synchronized void sendFleet(OutputStream os, boolean player1, List<Ship> ships) throws IOException {
+        begin(FLEET);
+        putVarint(player1 ? 1 : 2);
+        putVarint(ships.size());
+        for (Ship ship : ships) {
+            ShipPlacement p = ShipPlacement.fromShip(ship);
+            putVarint(p.type().ordinal());
+            putVarint(p.start().row());
+            putVarint(p.start().col());
+            putVarint(p.horizontal() ? 1 : 0);
+        }
+        end(os);
+    }
+
+    private void begin(byte type) {
+        out.clear();
+        out.position(PREFIX);
+        out.put(type);
+    }
+
+    // writes the length just in front of the payload, then the frame in one go
+    private void end(OutputStream os) throws IOException {
+        int length = out.position() - PREFIX;
+        int start = PREFIX - varintSize(length);
+        out.position(start);
+        putVarint(length);
+        os.write(out.array(), start, PREFIX + length - start);
+        os.flush();
+    }
+
+    private void putAction(TurnAction action) {
+        switch (action) {
+            case FireAction f -> {
+                putVarint(FIRE);
+                putCoordinate(f.target());
+            }
+            case UseAbilityAction a -> {
+                AbilityTarget target = a.target();
+                List<Coordinate> manual = target.manualTargets();
+                int flags = (target.coordinate() != null ? HAS_COORDINATE : 0)
+                        | (manual != null ? HAS_MANUAL : 0);
+                putVarint(ABILITY);
+                putVarint(a.abilityType().ordinal());
+                putVarint(flags);
+                if (target.coordinate() != null) {
+                    putCoordinate(target.coordinate());
+                }
+                putVarint(target.extraShots());
+                if (manual != null) {
+                    putVarint(manual.size());
+                    for (Coordinate c : manual) {
+                        putCoordinate(c);
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown TurnAction: " + action);
+        }
+    }
+
+    private void putCoordinate(Coordinate c) {
+        putVarint(c.row());
+        putVarint(c.col());
+    }
+
+    // unpaired surrogates become '?', and the prefix is the length actually written
+    private void putString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length);
+        ensure(bytes.length);
+        out.put(bytes);
+    }
+
+    private void putVarint(int v) {
+        assert v >= 0 : "varint: negative " + v;
+        ensure(5);
+        while ((v & ~0x7F) != 0) {
+            out.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        out.put((byte) v);
+    }
+
+    private void ensure(int bytes) {
+        if (out.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(out.capacity() * 2, out.position() + bytes));
+        out.flip();
+        out = bigger.put(out);
+    }
+
+    private static int varintSize(int v) {
+        int size = 1;
+        while ((v & ~0x7F) != 0) {
+            v >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    // ---- reading ----
+
+    /** Blocks for the next frame and returns its type; the read* methods then parse its payload. */
+    byte next(DataInputStream is) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = is.read();
+            if (b < 0) throw new EOFException("Peer closed the connection");
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+            if (shift >= 28) throw new IOException("Malformed frame length");
+        }
+        if (length < 1 || length > MAX_FRAME) {
+            throw new IOException("Bad frame length " + length);
+        }
+        if (in.capacity() < length) {
+            in = ByteBuffer.allocate(Math.max(in.capacity() * 2, length));
+        }
+        in.clear();
+        is.readFully(in.array(), 0, length);
+        in.limit(length);
+        return in.get();
+    }
+
+    TurnAction readMove() throws IOException {
+        try {
+            return getAction();
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    Update readUpdate() throws IOException {
+        try {
+            TurnAction action = getAction();
+            String message = getString();
+            int winner = getVarint();
+            return new Update(action, message, winner, in.getLong());
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    Fleet readFleet() throws IOException {
+        try {
+            boolean player1 = getVarint() == 1;
+            int count = getCount();
+            List<ShipPlacement> ships = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ShipType type = SHIP_TYPES[getOrdinal(SHIP_TYPES.length, "ship type")];
+                Coordinate start = getCoordinate();
+                ships.add(new ShipPlacement(type, start, getVarint() == 1));
+            }
+            return new Fleet(player1, ships);
+        } catch (BufferUnderflowException e) {
+            throw truncated();
+        }
+    }
+
+    private IOException truncated() {
+        return new IOException("Truncated frame of " + in.limit() + " bytes");
+    }
+
+    private TurnAction getAction() throws IOException {
+        int kind = getVarint();
+        if (kind == FIRE) {
+            return new FireAction(getCoordinate());
+        }
+        if (kind != ABILITY) {
+            throw new IOException("Unknown action kind " + kind);
+        }
+        AbilityType type = ABILITY_TYPES[getOrdinal(ABILITY_TYPES.length, "ability")];
+        int flags = getVarint();
+        Coordinate coordinate = (flags & HAS_COORDINATE) != 0 ? getCoordinate() : null;
+        int extraShots = getVarint();
+        List<Coordinate> manual = null;
+        if ((flags & HAS_MANUAL) != 0) {
+            int count = getCount();
+            manual = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                manual.add(getCoordinate());
+            }
+        }
+        return new UseAbilityAction(type, new AbilityTarget(coordinate, extraShots, manual));
+    }
+
+    private Coordinate getCoordinate() throws IOException {
+        int row = getVarint();
+        return Coordinate.of(row, getVarint());
+    }
+
+    private int getOrdinal(int values, String what) throws IOException {
+        int ordinal = getVarint();
+        if (ordinal >= values) {
+            throw new IOException("Unknown " + what + " ordinal " + ordinal);
+        }
+        return ordinal;
+    }
+
+    // a list length; every element takes at least a byte, so more than remain is a lie
+    private int getCount() throws IOException {
+        int count = getVarint();
+        if (count > in.remaining()) {
+            throw truncated();
+        }
+        return count;
+    }
+
+    private String getString() throws IOException {
+        int length = getVarint();
+        if (length > in.remaining()) {
+            throw truncated();
+        }
+        String s = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return s;
+    }
+
+    // unsigned and at most 5 bytes; anything that would not fit a non-negative int is malformed
+    private int getVarint() throws IOException {
+        int v = 0;
+        for (int shift = 0; shift <= 28; shift += 7) {
+            byte b = in.get();
+            if (shift == 28 && (b & 0xF8) != 0) break;
+            v |= (b & 0x7F) << shift;
+            if (b >= 0) return v;
+        }
+        throw new IOException("Malformed varint in frame");
+    }
+}
@@ -1,8 +1,9 @@
 package com.chase.battleship.net;
 
-import java.util.Random;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import com.chase.battleship.core.*;
 
 public final class NetUtil {
@@ -11,8 +12,11 @@ public final class NetUtil {
 	private NetUtil() {}
 
 	public static String makeCode(int len) {
+		return makeCode(len, ThreadLocalRandom.current());
+	}
+
+	public static String makeCode(int len, RandomGenerator r) {
 		StringBuilder sb = new StringBuilder(len);
-		Random r = new Random();
 		for (int i = 0; i < len; i++) {
 			sb.append(CODE_CHARS.charAt(r.nextInt(CODE_CHARS.length())));
 		}
@@ -22,6 +22,11 @@ public class OnlineHost {
 
             Socket clientSocket = serverSocket.accept();
             System.out.println("Client connected from " + clientSocket.getInetAddress());
+            try {
+                RendezvousClient.unregisterCode(code);
+            } catch (IOException e) {
+                // the rendezvous TTL expires it anyway
+            }
 
             try (BufferedReader in = new BufferedReader(
                      new InputStreamReader(clientSocket.getInputStream(), StandardCharsets.UTF_8));
@@ -33,13 +38,14 @@ public class OnlineHost {
                 // host setup
                 Board b1 = new Board(config.getRows(), config.getCols());
                 Board b2 = new Board(config.getRows(), config.getCols());
-                BoardUtils.randomFleetPlacement(b1);
-                BoardUtils.randomFleetPlacement(b2);
+                MatchRandom random = MatchRandom.of(config);
+                BoardUtils.randomFleetPlacement(b1, random.fleet(true));
+                BoardUtils.randomFleetPlacement(b2, random.fleet(false));
 
                 PlayerState ps1 = new PlayerState("Host", b1, config);
                 PlayerState ps2 = new PlayerState("Client", b2, config);
                 GameState state = new GameState(config, ps1, ps2);
-                GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor());
+                GameEngine engine = new GameEngine(state, new DefaultAbilityExecutor(random.abilities()));
 
                 PlayerAgent hostAgent = new TerminalHumanAgent(scanner);
 
@@ -6,19 +6,52 @@ import java.io.*;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.time.Duration;
+import java.util.OptionalLong;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * The link between the two GUI players. The hello is always text; after it the
+ * peers speak either the original line protocol or, when both support it, the
+ * binary frames of BinaryFrames. The host offers binary with a FRAMING BINARY
+ * line before MODE and a client that takes it answers with the same line;
+ * older peers skip the offer or never answer, and the game stays on text.
+ * Setting -Dbattleship.framing=text keeps a peer on text.
+ */
 public class OnlinePeerConnection {
 
+    static final String FRAMING_PROPERTY = "battleship.framing";
+    private static final String FRAMING_BINARY = "FRAMING BINARY";
+    // floor for the refresh interval, against servers run with a TTL of a second or less
+    private static final Duration MIN_LOBBY_REFRESH = Duration.ofSeconds(1);
+
     private final GameConfig config;
     private final PlayerState hostPlayer;
     private final PlayerState clientPlayer;
     private final boolean host;
     private final ServerSocket serverSocket;
     private Socket socket;
-    private BufferedReader in;
-    private PrintWriter out;
+    // text lines and binary frames come off the same buffered stream, so
+    // switching framing after the hello never loses bytes read ahead
+    private DataInputStream in;
+    private OutputStream out;
+    private byte[] lineBuffer = new byte[128];
+    private final boolean binaryAllowed = !"text".equalsIgnoreCase(System.getProperty(FRAMING_PROPERTY));
+    private final BinaryFrames frames = new BinaryFrames();
+    private volatile boolean binary;
+    // host only: whether the client's answer to the offer has been read
+    private boolean framingSettled;
+    // host only: an old client's first line, read while looking for that answer
+    private String pushedBack;
     private final String lobbyCode;
+    // true while the rendezvous server still lists lobbyCode
+    private final AtomicBoolean codeRegistered = new AtomicBoolean();
+    // orders a refresh against the release, so a released code is not listed again
+    private final ReentrantLock lobbyLock = new ReentrantLock();
+    private Thread lobbyRefresh;
     private final CountDownLatch readyLatch = new CountDownLatch(1);
     private IOException connectionFailure;
 
@@ -32,7 +65,9 @@ public class OnlinePeerConnection {
             if (host) {
                 serverSocket = new ServerSocket(0);
                 lobbyCode = NetUtil.makeCode(6);
-                RendezvousClient.registerCode(lobbyCode, serverSocket.getLocalPort());
+                Duration ttl = RendezvousClient.registerCode(lobbyCode, serverSocket.getLocalPort());
+                codeRegistered.set(true);
+                startLobbyRefresh(ttl);
                 startAcceptThread();
             } else {
                 serverSocket = null;
@@ -61,6 +96,7 @@ public class OnlinePeerConnection {
     }
 
     public void close() {
+        releaseLobbyCodeLater();
         try {
             if (socket != null) {
                 socket.close();
@@ -71,10 +107,13 @@ public class OnlinePeerConnection {
         }
     }
 
+    // a virtual thread: it spends the whole lobby blocked in accept()
     private void startAcceptThread() throws IOException {
-        Thread t = new Thread(() -> {
+        Thread.ofVirtual().name("online-host-accept").start(() -> {
             try {
                 socket = serverSocket.accept();
+                // the joining client shouldn't wait on the rendezvous server for its HELLO
+                releaseLobbyCodeLater();
                 initIo();
                 sendInitialSetup();
             } catch (IOException e) {
@@ -82,9 +121,64 @@ public class OnlinePeerConnection {
             } finally {
                 readyLatch.countDown();
             }
-        }, "online-host-accept");
-        t.setDaemon(true);
-        t.start();
+        });
+    }
+
+    /**
+     * The server forgets a code after its TTL, so a host waiting longer in the lobby
+     * registers it again at half the TTL the server reported on the last REG (the
+     * default TTL for a server that reports none).
+     */
+    private void startLobbyRefresh(Duration ttl) {
+        lobbyRefresh = Thread.ofVirtual().name("lobby-code-refresh").start(() -> {
+            Duration current = ttl;
+            try {
+                while (true) {
+                    Thread.sleep(refreshInterval(current));
+                    lobbyLock.lock();
+                    try {
+                        if (!codeRegistered.get()) return;
+                        Duration reported = RendezvousClient.registerCode(lobbyCode, serverSocket.getLocalPort());
+                        if (reported != null) {
+                            current = reported;
+                        }
+                    } catch (IOException ignored) {
+                        // the old entry still has half its TTL; try again next round
+                    } finally {
+                        lobbyLock.unlock();
+                    }
+                }
+            } catch (InterruptedException ignored) {
+                // lobby closed
+            }
+        });
+    }
+
+    private static Duration refreshInterval(Duration ttl) {
+        Duration half = (ttl != null ? ttl : RendezvousServer.DEFAULT_TTL).dividedBy(2);
+        return half.compareTo(MIN_LOBBY_REFRESH) < 0 ? MIN_LOBBY_REFRESH : half;
+    }
+
+    // off the caller's thread: close() runs from the UI, and accept from the joining client's handshake
+    private void releaseLobbyCodeLater() {
+        if (codeRegistered.get()) {
+            Thread.ofVirtual().name("lobby-code-release").start(this::releaseLobbyCode);
+        }
+    }
+
+    // once a peer has joined (or the lobby is abandoned) nobody else should resolve the code
+    private void releaseLobbyCode() {
+        if (!codeRegistered.compareAndSet(true, false)) return;
+        lobbyLock.lock();
+        try {
+            // under the lock, so a refresh in flight is never interrupted mid-call
+            lobbyRefresh.interrupt();
+            RendezvousClient.unregisterCode(lobbyCode);
+        } catch (IOException ignored) {
+            // the server's TTL drops it anyway
+        } finally {
+            lobbyLock.unlock();
+        }
     }
 
     private void connectToHost(String joinCode) throws IOException {
@@ -99,8 +193,43 @@ public class OnlinePeerConnection {
     }
 
     private void initIo() throws IOException {
-        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
-        out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        socket.setTcpNoDelay(true);
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new BufferedOutputStream(socket.getOutputStream());
+    }
+
+    private String readLine() throws IOException {
+        if (pushedBack != null) {
+            String line = pushedBack;
+            pushedBack = null;
+            return line;
+        }
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                if (length == 0) return null;
+                break;
+            }
+            if (length == lineBuffer.length) {
+                lineBuffer = Arrays.copyOf(lineBuffer, length * 2);
+            }
+            lineBuffer[length++] = (byte) b;
+        }
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // buffered until flushLines(), so a multi-line message goes out in one write
+    private void writeLine(String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    private void flushLines() throws IOException {
+        out.flush();
     }
 
     private void awaitReady() {
@@ -115,22 +244,40 @@ public class OnlinePeerConnection {
         }
     }
 
-    private void sendInitialSetup() {
-        out.println("HELLO HOST");
-        out.println("CONFIG " + config.getRows() + " " + config.getCols());
-        out.println("MODE " + config.getGameMode());
+    private void sendInitialSetup() throws IOException {
+        writeLine("HELLO HOST");
+        writeLine("CONFIG " + config.getRows() + " " + config.getCols());
+        // both engines replay auto-targeted abilities, so they need the same random stream
+        OptionalLong seed = config.getSeed();
+        if (seed.isPresent()) {
+            writeLine("SEED " + seed.getAsLong());
+        }
+        if (binaryAllowed) {
+            writeLine(FRAMING_BINARY);
+        }
+        writeLine("MODE " + config.getGameMode());
+        flushLines();
     }
 
     private void receiveInitialSetup() throws IOException {
-        String line = in.readLine();
+        String line = readLine();
         if (line == null || !line.startsWith("HELLO")) {
             throw new IOException("Invalid hello from host");
         }
-        while ((line = in.readLine()) != null) {
+        boolean binaryOffered = false;
+        while ((line = readLine()) != null) {
             if (line.startsWith("CONFIG")) {
                 // rows/cols already match via config
                 continue;
             }
+            if (line.startsWith("SEED")) {
+                config.setSeed(Long.parseLong(line.substring(5).trim()));
+                continue;
+            }
+            if (line.equals(FRAMING_BINARY)) {
+                binaryOffered = true;
+                continue;
+            }
             if (line.startsWith("MODE")) {
                 String mode = line.substring(5).trim();
                 if (!mode.equals(config.getGameMode().name())) {
@@ -139,12 +286,31 @@ public class OnlinePeerConnection {
                 break;
             }
         }
+        if (binaryOffered && binaryAllowed) {
+            writeLine(FRAMING_BINARY);
+            flushLines();
+            binary = true;
+        }
+    }
+
+    // the client answers the offer before sending anything else; from an older
+    // client the first line is its READY instead, kept for waitForReadyPayload
+    private void settleFraming() throws IOException {
+        if (framingSettled) return;
+        framingSettled = true;
+        if (!host || !binaryAllowed) return;
+        String line = readLine();
+        if (FRAMING_BINARY.equals(line)) {
+            binary = true;
+        } else {
+            pushedBack = line;
+        }
     }
 
-    private void sendPlacements(String prefix, Board board) {
+    private void sendPlacements(String prefix, Board board) throws IOException {
         for (Ship ship : board.getShips()) {
             ShipPlacement placement = ShipPlacement.fromShip(ship);
-            out.println("PLACE " + prefix + " " + placement.type() + " "
+            writeLine("PLACE " + prefix + " " + placement.type() + " "
                     + placement.start().row() + " " + placement.start().col() + " "
                     + (placement.horizontal() ? "H" : "V"));
         }
@@ -156,21 +322,52 @@ public class OnlinePeerConnection {
      */
     public void exchangePlacementsOnReady(Board localBoard, boolean senderIsHost) {
         awaitReady();
-        sendReady(localBoard, senderIsHost);
-        waitForReadyPayload();
+        try {
+            settleFraming();
+            sendReady(localBoard, senderIsHost);
+            if (binary) {
+                readFleetFrame();
+            } else {
+                waitForReadyPayload();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lost connection to peer", e);
+        }
     }
 
-    private void sendReady(Board localBoard, boolean senderIsHost) {
+    private void sendReady(Board localBoard, boolean senderIsHost) throws IOException {
+        if (binary) {
+            frames.sendFleet(out, senderIsHost, localBoard.getShips());
+            return;
+        }
         String prefix = senderIsHost ? "P1" : "P2";
-        out.println("READY " + prefix);
+        writeLine("READY " + prefix);
         sendPlacements(prefix, localBoard);
-        out.println("READY_END");
+        writeLine("READY_END");
+        flushLines();
+    }
+
+    private void readFleetFrame() throws IOException {
+        expectFrame(BinaryFrames.FLEET);
+        BinaryFrames.Fleet fleet = frames.readFleet();
+        Board targetBoard = fleet.player1() ? hostPlayer.getOwnBoard() : clientPlayer.getOwnBoard();
+        targetBoard.reset();
+        for (ShipPlacement p : fleet.ships()) {
+            targetBoard.placeShip(new Ship(p.type()), p.start(), p.horizontal());
+        }
+    }
+
+    private void expectFrame(byte type) throws IOException {
+        byte got = frames.next(in);
+        if (got != type) {
+            throw new IllegalStateException("Unexpected remote frame " + got + ", expected " + type);
+        }
     }
 
     private void waitForReadyPayload() {
         try {
             String line;
-            while ((line = in.readLine()) != null) {
+            while ((line = readLine()) != null) {
                 if (!line.startsWith("READY")) {
                     continue;
                 }
@@ -181,7 +378,7 @@ public class OnlinePeerConnection {
                 String target = parts[1];
                 Board targetBoard = target.equals("P1") ? hostPlayer.getOwnBoard() : clientPlayer.getOwnBoard();
                 targetBoard.reset();
-                while ((line = in.readLine()) != null) {
+                while ((line = readLine()) != null) {
                     if ("READY_END".equals(line)) {
                         return;
                     }
@@ -205,7 +402,11 @@ public class OnlinePeerConnection {
     public TurnAction waitForRemoteMove() {
         awaitReady();
         try {
-            String line = in.readLine();
+            if (binary) {
+                expectFrame(BinaryFrames.MOVE);
+                return frames.readMove();
+            }
+            String line = readLine();
             if (line == null || !line.startsWith("MOVE ")) {
                 throw new IllegalStateException("Unexpected remote message: " + line);
             }
@@ -217,18 +418,42 @@ public class OnlinePeerConnection {
 
     public void sendLocalMove(TurnAction action) {
         awaitReady();
-        out.println("MOVE " + Protocol.formatAction(action));
+        try {
+            if (binary) {
+                frames.sendMove(out, action);
+            } else {
+                writeLine("MOVE " + Protocol.formatAction(action));
+                flushLines();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lost connection to peer", e);
+        }
     }
 
     public RemoteUpdate waitForUpdate(GameEngine engine) {
+        return applyUpdate(engine, readUpdate());
+    }
+
+    /**
+     * Blocks until the host's next state update arrives, without touching the engine,
+     * so the wait can run off the UI thread and applyUpdate on it.
+     */
+    public HostUpdate readUpdate() {
         awaitReady();
         try {
+            if (binary) {
+                expectFrame(BinaryFrames.UPDATE);
+                BinaryFrames.Update u = frames.readUpdate();
+                String winnerTag = u.winner() == 1 ? "P1" : u.winner() == 2 ? "P2" : "NONE";
+                return new HostUpdate(u.action(), u.message(), u.winner() != 0, winnerTag, u.hash());
+            }
             TurnAction action = null;
             String message = "";
             boolean gameOver = false;
             String winnerTag = null;
+            Long hostHash = null;
             while (true) {
-                String line = in.readLine();
+                String line = readLine();
                 if (line == null) throw new IOException("Disconnected");
                 if (line.startsWith("APPLY ")) {
                     action = Protocol.parseClientCommand(line.substring(6));
@@ -237,6 +462,8 @@ public class OnlinePeerConnection {
                 } else if (line.startsWith("OVER ")) {
                     gameOver = !line.endsWith("NONE");
                     winnerTag = line.substring(5).trim();
+                } else if (line.startsWith("HASH ")) {
+                    hostHash = Long.parseUnsignedLong(line.substring(5).trim(), 16);
                 } else if (line.equals("STATE_END")) {
                     break;
                 }
@@ -244,37 +471,63 @@ public class OnlinePeerConnection {
             if (action == null) {
                 throw new IllegalStateException("Host did not send action update");
             }
-            TurnResult res = engine.processTurn(action);
-            if (gameOver) {
-                engine.getGameState().endGame();
-                if (winnerTag != null && !"NONE".equals(winnerTag)) {
-                    PlayerState winner = winnerTag.equals("P1") ? hostPlayer : clientPlayer;
-                    engine.getGameState().setWinner(winner);
-                }
-            }
-            PlayerState winner = gameOver && engine.getGameState().getWinner() != null
-                    ? engine.getGameState().getWinner()
-                    : null;
-            return new RemoteUpdate(res, message, winner, action);
+            return new HostUpdate(action, message, gameOver, winnerTag, hostHash);
         } catch (IOException e) {
             throw new IllegalStateException("Lost connection to peer", e);
         }
     }
 
+    /**
+     * Replays the host's move on the local engine. Throws IllegalStateException if the
+     * resulting position differs from the host's, so the session ends on a visible error.
+     */
+    public RemoteUpdate applyUpdate(GameEngine engine, HostUpdate update) {
+        TurnAction action = update.action();
+        TurnResult res = engine.processTurn(action);
+        Long hostHash = update.hostHash();
+        // playing on from a diverged position would only show each side a different game
+        if (hostHash != null && hostHash != engine.getGameState().hash()) {
+            throw new IllegalStateException("Out of sync with host after " + Protocol.formatAction(action)
+                    + " (host " + Long.toHexString(hostHash)
+                    + ", local " + Long.toHexString(engine.getGameState().hash()) + ")");
+        }
+        String winnerTag = update.winnerTag();
+        if (update.gameOver()) {
+            engine.getGameState().endGame();
+            if (winnerTag != null && !"NONE".equals(winnerTag)) {
+                PlayerState winner = winnerTag.equals("P1") ? hostPlayer : clientPlayer;
+                engine.getGameState().setWinner(winner);
+            }
+        }
+        PlayerState winner = update.gameOver() && engine.getGameState().getWinner() != null
+                ? engine.getGameState().getWinner()
+                : null;
+        return new RemoteUpdate(res, update.message(), winner, action);
+    }
+
     public void broadcastResult(TurnAction action, TurnResult result, GameState state) {
         awaitReady();
-        out.println("APPLY " + Protocol.formatAction(action));
-        out.println("MSG " + result.message());
-        if (state.isGameOver()) {
-            PlayerState w = state.getWinner();
-            String winnerTag = w == null ? "NONE" : (w == hostPlayer ? "P1" : "P2");
-            out.println("OVER " + winnerTag);
-        } else {
-            out.println("OVER NONE");
+        PlayerState w = state.isGameOver() ? state.getWinner() : null;
+        try {
+            if (binary) {
+                int winner = w == null ? 0 : (w == hostPlayer ? 1 : 2);
+                frames.sendUpdate(out, action, result.message(), winner, state.hash());
+                return;
+            }
+            writeLine("APPLY " + Protocol.formatAction(action));
+            writeLine("MSG " + result.message());
+            writeLine("OVER " + (w == null ? "NONE" : (w == hostPlayer ? "P1" : "P2")));
+            writeLine("HASH " + Long.toHexString(state.hash()));
+            writeLine("STATE_END");
+            flushLines();
+        } catch (IOException e) {
+            throw new IllegalStateException("Lost connection to peer", e);
         }
-        out.println("STATE_END");
     }
 
+    /** One host update as read off the wire, not yet applied. */
+    public record HostUpdate(TurnAction action, String message, boolean gameOver, String winnerTag, Long hostHash) {}
+
     public record RemoteUpdate(TurnResult localResult, String remoteMessage, PlayerState winner, TurnAction action) {}
 }
 
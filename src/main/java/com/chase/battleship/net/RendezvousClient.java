@@ -1,40 +1,249 @@
 package com.chase.battleship.net;
 
 import java.io.*;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class RendezvousClient {
+/**
+ * Talks to the rendezvous server over a few long-lived connections instead of
+ * one TCP connection per request. Requests are pipelined: a connection sends
+ * a request without waiting for earlier answers, and since the server answers
+ * each connection in order, responses complete requests first in, first out.
+ * A connection that fails fails its outstanding requests and is reopened by
+ * the next request. All commands are idempotent, so a blocking call that was
+ * lost with an already open connection (say, one the server dropped while
+ * idle) is sent once more on a new one.
+ *
+ * The static methods share one client for RendezvousConfig's server.
+ */
+public class RendezvousClient implements Closeable {
 
     public record HostEndpoint(String host, int port) {}
 
-    public static void registerCode(String code, int port) throws IOException {
-        System.out.println("[RZ] Registering code " + code + " on port " + port);
-        try (Socket s = new Socket(RendezvousConfig.HOST, RendezvousConfig.PORT);
-             PrintWriter out = new PrintWriter(
-                     new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), true)) {
-            out.println("REG " + code + " " + port);
+    private static final int SHARED_CONNECTIONS = 2;
+    private static final int CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final long ANSWER_TIMEOUT_MILLIS = 5000;
+
+    private static volatile RendezvousClient shared;
+
+    private final String host;
+    private final int port;
+    private final Connection[] connections;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public RendezvousClient(String host, int port, int connections) {
+        this.host = host;
+        this.port = port;
+        this.connections = new Connection[connections];
+        for (int i = 0; i < connections; i++) {
+            this.connections[i] = new Connection();
+        }
+    }
+
+    private static RendezvousClient shared() {
+        RendezvousClient client = shared;
+        if (client == null) {
+            synchronized (RendezvousClient.class) {
+                client = shared;
+                if (client == null) {
+                    shared = client = new RendezvousClient(RendezvousConfig.HOST, RendezvousConfig.PORT, SHARED_CONNECTIONS);
+                }
+            }
         }
+        return client;
+    }
+
+    public static Duration registerCode(String code, int port) throws IOException {
+        return shared().register(code, port);
+    }
+
+    /** Frees a lobby code once its game has started or been abandoned. */
+    public static void unregisterCode(String code) throws IOException {
+        shared().unregister(code);
     }
 
     public static HostEndpoint resolveCode(String code) throws IOException {
-        System.out.println("[RZ] Resolving code " + code + "...");
-        try (Socket s = new Socket(RendezvousConfig.HOST, RendezvousConfig.PORT);
-             BufferedReader in = new BufferedReader(
-                     new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
-             PrintWriter out = new PrintWriter(
-                     new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), true)) {
+        return shared().resolve(code);
+    }
+
+    /**
+     * Registers code for port and returns how long the server keeps it, or null
+     * if the server doesn't say (older servers answer a bare OK).
+     */
+    public Duration register(String code, int port) throws IOException {
+        String answer = call("REG " + code + " " + port);
+        String[] parts = answer.split("\\s+");
+        if (!parts[0].equals("OK")) {
+            throw new IOException("Registering " + code + " failed: " + answer);
+        }
+        try {
+            return parts.length > 1 ? Duration.ofSeconds(Long.parseLong(parts[1])) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public void unregister(String code) throws IOException {
+        String answer = call("DEL " + code);
+        if (answer.startsWith("ERR")) {
+            throw new IOException("Unregistering " + code + " failed: " + answer);
+        }
+    }
+
+    /** The host registered under code, or null if there is none. */
+    public HostEndpoint resolve(String code) throws IOException {
+        String answer = call("GET " + code);
+        if ("NF".equals(answer)) {
+            return null;
+        }
+        String[] parts = answer.split("\\s+");
+        if (parts.length != 2 || parts[0].equals("ERR")) {
+            throw new IOException("Resolving " + code + " failed: " + answer);
+        }
+        return new HostEndpoint(parts[0], Integer.parseInt(parts[1]));
+    }
+
+    /** Sends one request line without waiting; the future gets its response line. */
+    public CompletableFuture<String> send(String line) {
+        return connections[Math.floorMod(next.getAndIncrement(), connections.length)].send(line);
+    }
+
+    @Override
+    public void close() {
+        for (Connection c : connections) {
+            c.close();
+        }
+    }
+
+    private String call(String line) throws IOException {
+        Connection c = connections[Math.floorMod(next.getAndIncrement(), connections.length)];
+        boolean reused = c.isOpen();
+        try {
+            return await(c.send(line), line);
+        } catch (ExecutionException e) {
+            if (!reused) throw failure(e);
+        }
+        try {
+            return await(c.send(line), line);
+        } catch (ExecutionException e) {
+            throw failure(e);
+        }
+    }
+
+    private static String await(CompletableFuture<String> answer, String line) throws IOException, ExecutionException {
+        try {
+            return answer.get(ANSWER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException("Rendezvous server did not answer " + line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the rendezvous server");
+        }
+    }
+
+    private static IOException failure(ExecutionException e) {
+        if (e.getCause() instanceof IOException io) return io;
+        return new IOException(e.getCause());
+    }
+
+    private final class Connection {
+        // guarded by this: writes, and adding to waiting in the same order
+        private Socket socket;
+        private Writer out;
+        // one per socket, so a reader left over from an earlier socket can't
+        // complete requests sent on the next one. The reader takes from it
+        // without the lock, so a writer blocked on a full socket can never
+        // stall the reader that would drain it
+        private Queue<CompletableFuture<String>> waiting;
+
+        synchronized CompletableFuture<String> send(String line) {
+            CompletableFuture<String> answer = new CompletableFuture<>();
+            try {
+                if (socket == null) {
+                    open();
+                }
+                waiting.add(answer);
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                fail(e);
+                answer.completeExceptionally(e);
+            }
+            return answer;
+        }
 
-            out.println("GET " + code);   // sends GET + newline + flush
+        private void open() throws IOException {
+            Socket s = new Socket();
+            try {
+                s.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MILLIS);
+                s.setTcpNoDelay(true);
+                s.setKeepAlive(true);
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8));
+                Queue<CompletableFuture<String>> queue = new ConcurrentLinkedQueue<>();
+                socket = s;
+                waiting = queue;
+                Thread.ofVirtual().name("rendezvous-reader").start(() -> readAnswers(s, in, queue));
+            } catch (IOException e) {
+                s.close();
+                throw e;
+            }
+        }
 
-            String line = in.readLine();  // waits for single-line response
-            System.out.println("[RZ] Response: " + line);
+        private void readAnswers(Socket s, BufferedReader in, Queue<CompletableFuture<String>> queue) {
+            IOException failure;
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    CompletableFuture<String> answer = queue.poll();
+                    if (answer != null) {
+                        answer.complete(line);
+                    }
+                }
+                failure = new EOFException("Rendezvous server closed the connection");
+            } catch (IOException e) {
+                failure = e;
+            }
+            synchronized (this) {
+                if (socket == s) {
+                    fail(failure);
+                }
+            }
+        }
 
-            if (line == null || "NF".equals(line)) {
-                return null;
+        synchronized boolean isOpen() {
+            return socket != null;
+        }
+
+        synchronized void close() {
+            if (socket != null) {
+                fail(new IOException("Rendezvous client closed"));
+            }
+        }
+
+        // lock held; drops the socket and everything still waiting on it
+        private void fail(IOException cause) {
+            if (socket != null) {
+                try { socket.close(); } catch (IOException ignored) {}
+            }
+            socket = null;
+            out = null;
+            if (waiting == null) return;
+            CompletableFuture<String> answer;
+            while ((answer = waiting.poll()) != null) {
+                answer.completeExceptionally(cause);
             }
-            String[] parts = line.split("\\s+");
-            return new HostEndpoint(parts[0], Integer.parseInt(parts[1]));
+            waiting = null;
         }
     }
-}
\ No newline at end of file
+}
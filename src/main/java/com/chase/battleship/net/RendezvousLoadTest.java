@@ -0,0 +1,207 @@
+package com.chase.battleship.net;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs each RendezvousServer mode in this JVM and drives it with GET lookups
+ * from virtual-thread clients while a number of idle connections stay open
+ * the way slow or stalled clients would. Reports per mode the peak number of
+ * platform threads and heap in use above the idle baseline, lookup latency
+ * percentiles and throughput.
+ *
+ * --client pooled (the default) sends every lookup through one
+ * RendezvousClient, pipelined over --connections connections; oneshot opens
+ * a TCP connection per lookup, as clients did before pooling.
+ *
+ * Usage: RendezvousLoadTest [--modes blocking,virtual,nio] [--clients C] [--requests R] [--idle I]
+ *                           [--client pooled|oneshot] [--connections N] [--port P]
+ * --requests is per client.
+ */
+public class RendezvousLoadTest {
+
+    private static final String CODE = "LOADTEST";
+
+    private record Result(String mode, int lookups, int errors, double seconds, long[] latencies,
+                          int peakThreads, long peakHeap) {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> modes = List.of("blocking", "virtual", "nio");
+        int clients = 50;
+        int requests = 100;
+        int idle = 1000;
+        int port = 19100;
+        boolean pooled = true;
+        int connections = 4;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--modes" -> modes = Arrays.asList(args[i + 1].split(","));
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--requests" -> requests = Integer.parseInt(args[i + 1]);
+                case "--idle" -> idle = Integer.parseInt(args[i + 1]);
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--client" -> pooled = !"oneshot".equals(args[i + 1]);
+                case "--connections" -> connections = Integer.parseInt(args[i + 1]);
+                default -> System.out.println("Ignoring unknown option " + args[i]);
+            }
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : modes) {
+            // a fresh port per mode, so lingering connections of the last run don't interfere
+            results.add(run(mode, port++, clients, requests, idle, pooled ? connections : 0));
+        }
+
+        System.out.printf("%n%d clients x %d lookups, %d idle connections, %s%n", clients, requests, idle,
+                pooled ? "pooled client (" + connections + " connections)" : "one connection per lookup");
+        System.out.printf("%-9s %9s %8s %8s %8s %8s %9s %9s %7s%n",
+                "mode", "lookups/s", "p50 ms", "p99 ms", "max ms", "threads", "heap MB", "lookups", "errors");
+        for (Result r : results) {
+            long[] lat = r.latencies;
+            System.out.printf("%-9s %9.0f %8.2f %8.2f %8.2f %8d %9.1f %9d %7d%n",
+                    r.mode, r.lookups / r.seconds, millis(percentile(lat, 0.50)), millis(percentile(lat, 0.99)),
+                    millis(lat.length == 0 ? 0 : lat[lat.length - 1]), r.peakThreads, r.peakHeap / 1048576.0,
+                    r.lookups, r.errors);
+        }
+    }
+
+    // connections 0: one TCP connection per lookup
+    private static Result run(String mode, int port, int clients, int requests, int idle, int connections)
+            throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        RendezvousServer server = new RendezvousServer(port);
+        Thread serverThread = Thread.ofPlatform().daemon().name("rendezvous-" + mode).start(() -> {
+            try {
+                switch (mode) {
+                    case "blocking" -> server.start();
+                    case "virtual" -> server.startVirtual();
+                    case "nio" -> server.startNio(Math.min(Runtime.getRuntime().availableProcessors(), 4));
+                    default -> throw new IllegalArgumentException("Unknown mode " + mode);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        awaitListening(port);
+        if (!request(port, "REG " + CODE + " 4242").startsWith("OK")) {
+            throw new IllegalStateException(mode + ": registration failed");
+        }
+
+        System.gc();
+        int baseThreads = threads.getThreadCount();
+        long baseHeap = memory.getHeapMemoryUsage().getUsed();
+        AtomicInteger peakThreads = new AtomicInteger();
+        AtomicLong peakHeap = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().name("load-sampler").start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakThreads.accumulateAndGet(threads.getThreadCount() - baseThreads, Math::max);
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed() - baseHeap, Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        List<Socket> idlers = new ArrayList<>(idle);
+        long[] latencies = new long[clients * requests];
+        AtomicInteger errors = new AtomicInteger();
+        RendezvousClient client = connections > 0 ? new RendezvousClient("localhost", port, connections) : null;
+        long start;
+        long end;
+        try {
+            for (int i = 0; i < idle; i++) {
+                idlers.add(new Socket("localhost", port));
+            }
+            start = System.nanoTime();
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(clients);
+                for (int c = 0; c < clients; c++) {
+                    int offset = c * requests;
+                    futures.add(pool.submit(() -> {
+                        for (int r = 0; r < requests; r++) {
+                            long t0 = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = client != null
+                                        ? client.resolve(CODE) != null
+                                        : request(port, "GET " + CODE).endsWith(" 4242");
+                            } catch (IOException e) {
+                                ok = false;
+                            }
+                            latencies[offset + r] = System.nanoTime() - t0;
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            }
+            end = System.nanoTime();
+        } finally {
+            if (client != null) {
+                client.close();
+            }
+            for (Socket s : idlers) {
+                s.close();
+            }
+            sampler.interrupt();
+            server.stop();
+        }
+        serverThread.join(5000);
+
+        Arrays.sort(latencies);
+        return new Result(mode, latencies.length, errors.get(), (end - start) / 1e9, latencies,
+                peakThreads.get(), peakHeap.get());
+    }
+
+    private static String request(int port, String line) throws IOException {
+        try (Socket s = new Socket("localhost", port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)) {
+            out.write(line);
+            out.write('\n');
+            out.flush();
+            return in.readLine();
+        }
+    }
+
+    private static void awaitListening(int port) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try {
+                new Socket("localhost", port).close();
+                return;
+            } catch (IOException e) {
+                Thread.sleep(20);
+            }
+        }
+        throw new IllegalStateException("Server on port " + port + " did not come up");
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
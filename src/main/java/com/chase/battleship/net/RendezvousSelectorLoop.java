@@ -0,0 +1,215 @@
+package com.chase.battleship.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One thread of the NIO rendezvous server. Every loop registers the shared
+ * non-blocking server channel, so whichever selector wakes first accepts a
+ * connection and then serves it for its lifetime.
+ *
+ * Reads and writes go through two direct buffers owned by the loop and reused
+ * for every connection. Lines are framed incrementally, so a request split
+ * across reads, or many requests in one read, are both fine; responses go out
+ * in request order. A connection only holds heap memory for an unfinished
+ * line or for output the peer has not taken yet, and while such output is
+ * queued the loop stops reading from it.
+ */
+final class RendezvousSelectorLoop implements Runnable {
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_LINE = 256;
+    // queued output beyond this means the peer stopped reading
+    private static final int MAX_PENDING = 64 * 1024;
+
+    private final RendezvousServer server;
+    private final ServerSocketChannel acceptor;
+    private final Selector selector;
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private volatile boolean running = true;
+
+    private static final class Connection {
+        final String ip;
+        byte[] line;
+        int lineLength;
+        ByteBuffer pending;
+        boolean closeWhenFlushed;
+
+        Connection(String ip) {
+            this.ip = ip;
+        }
+    }
+
+    RendezvousSelectorLoop(RendezvousServer server, ServerSocketChannel acceptor) throws IOException {
+        this.server = server;
+        this.acceptor = acceptor;
+        this.selector = Selector.open();
+        acceptor.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /** Asks the loop to close its connections and return from run(). */
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            System.out.println("Rendezvous selector failed: " + e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.channel() != acceptor) {
+                    closeQuietly(key);
+                }
+            }
+            try { selector.close(); } catch (IOException ignored) {}
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                accept();
+                return;
+            }
+            if (key.isReadable()) {
+                read(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                writePending(key);
+            }
+        } catch (IOException e) {
+            closeQuietly(key);
+        } catch (RuntimeException e) {
+            // a bad request or a bug costs that connection, not the loop and all its others
+            System.out.println("Rendezvous connection dropped: " + e);
+            closeQuietly(key);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = acceptor.accept();
+        if (channel == null) {
+            // another loop took it
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        String ip = ((InetSocketAddress) channel.getRemoteAddress()).getAddress().getHostAddress();
+        channel.register(selector, SelectionKey.OP_READ, new Connection(ip));
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection c = (Connection) key.attachment();
+        in.clear();
+        int n = channel.read(in);
+        if (n < 0) {
+            // nothing is queued: a connection with queued output isn't read from
+            closeQuietly(key);
+            return;
+        }
+        in.flip();
+        out.clear();
+        while (in.hasRemaining()) {
+            byte b = in.get();
+            if (b == '\n') {
+                // a blank line never allocated c.line
+                String line = c.lineLength == 0 ? "" : new String(c.line, 0, c.lineLength, StandardCharsets.UTF_8);
+                c.lineLength = 0;
+                emit(channel, c, server.respond(line, c.ip));
+            } else if (b != '\r') {
+                if (c.line == null) {
+                    c.line = new byte[MAX_LINE];
+                }
+                if (c.lineLength == MAX_LINE) {
+                    emit(channel, c, "ERR Line too long");
+                    c.closeWhenFlushed = true;
+                    break;
+                }
+                c.line[c.lineLength++] = b;
+            }
+        }
+        flush(channel, c);
+        if (c.pending != null) {
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else if (c.closeWhenFlushed) {
+            closeQuietly(key);
+        }
+    }
+
+    private void emit(SocketChannel channel, Connection c, String response) throws IOException {
+        if (response == null) return;
+        int length = response.length() + 1;
+        if (c.pending == null && out.remaining() < length) {
+            flush(channel, c);
+        }
+        ByteBuffer target = c.pending == null ? out : (c.pending = ensure(c.pending, length));
+        for (int i = 0; i < response.length(); i++) {
+            target.put((byte) response.charAt(i));
+        }
+        target.put((byte) '\n');
+    }
+
+    // writes out; whatever the socket doesn't take moves to the connection's queue
+    private void flush(SocketChannel channel, Connection c) throws IOException {
+        out.flip();
+        if (out.hasRemaining() && c.pending == null) {
+            channel.write(out);
+        }
+        if (out.hasRemaining()) {
+            c.pending = ensure(c.pending, out.remaining()).put(out);
+        }
+        out.clear();
+        if (c.pending != null && c.pending.position() > MAX_PENDING) {
+            throw new IOException("Peer is not reading its responses");
+        }
+    }
+
+    private void writePending(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection c = (Connection) key.attachment();
+        c.pending.flip();
+        channel.write(c.pending);
+        if (c.pending.hasRemaining()) {
+            c.pending.compact();
+            return;
+        }
+        c.pending = null;
+        if (c.closeWhenFlushed) {
+            closeQuietly(key);
+        } else {
+            key.interestOps(SelectionKey.OP_READ);
+        }
+    }
+
+    // a queue (in write mode) with room for length more bytes
+    private static ByteBuffer ensure(ByteBuffer queue, int length) {
+        if (queue == null) {
+            return ByteBuffer.allocate(Math.max(length, 1024));
+        }
+        if (queue.remaining() >= length) {
+            return queue;
+        }
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(queue.capacity() * 2, queue.position() + length));
+        return bigger.put(queue.flip());
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        key.cancel();
+        try { key.channel().close(); } catch (IOException ignored) {}
+    }
+}
@@ -1,94 +1,312 @@
 package com.chase.battleship.net;
 
 import java.io.*;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
+import java.nio.channels.ServerSocketChannel;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Maps lobby codes to host endpoints over a one-line text protocol
+ * (REG/GET/DEL). A code lives until its host deletes it, its TTL runs out or,
+ * with the registry full, it is the oldest one when a new code arrives.
+ *
+ * Three ways to serve it. start() gives every connection a pooled platform
+ * thread and a blocking reader; startVirtual() runs the same blocking code on
+ * one virtual thread per connection, so idle or slow clients only cost a
+ * small heap object; startNio(n) multiplexes all connections over n selector
+ * threads (see RendezvousSelectorLoop). RendezvousLoadTest compares them.
+ *
+ * Usage: RendezvousServer [--mode nio|virtual|blocking] [--threads N] [--port P]
+ *                         [--ttl SECONDS] [--max-codes N]
+ */
 public class RendezvousServer {
 
+    private static final int BACKLOG = 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
+    public static final int DEFAULT_MAX_CODES = 100_000;
+
     private static class Entry {
         final String ip;
         final int port;
-        final Instant created;
+        final long created;
 
         Entry(String ip, int port) {
             this.ip = ip;
             this.port = port;
-            this.created = Instant.now();
+            this.created = System.nanoTime();
         }
     }
 
+    // lookups read registry without locking; every write holds the lock and
+    // keeps byAge (oldest first) in step, which makes expiry and eviction O(1) per code
     private final Map<String, Entry> registry = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Entry> byAge = new LinkedHashMap<>();
+    private final Object registryLock = new Object();
+    private final long ttlNanos;
+    private final int maxCodes;
+    private final int port;
+    private ScheduledExecutorService sweeper;
+    private final List<RendezvousSelectorLoop> loops = new ArrayList<>();
+    private volatile ServerSocket blockingServer;
+    private volatile boolean stopped;
+
+    public RendezvousServer() {
+        this(RendezvousConfig.PORT);
+    }
+
+    public RendezvousServer(int port) {
+        this(port, DEFAULT_TTL, DEFAULT_MAX_CODES);
+    }
+
+    public RendezvousServer(int port, Duration ttl, int maxCodes) {
+        this.port = port;
+        this.ttlNanos = ttl.toNanos();
+        this.maxCodes = maxCodes;
+    }
 
     public void start() throws IOException {
-        try (ServerSocket server = new ServerSocket(RendezvousConfig.PORT)) {
-            System.out.println("RendezvousServer listening on port " + RendezvousConfig.PORT);
-            var pool = Executors.newCachedThreadPool();
+        serveBlocking(Executors.newCachedThreadPool(), "blocking");
+    }
+
+    public void startVirtual() throws IOException {
+        serveBlocking(Executors.newVirtualThreadPerTaskExecutor(), "virtual threads");
+    }
 
-            while (true) {
-                Socket socket = server.accept();
+    // returns once stop() closes the socket and every open connection has ended
+    private void serveBlocking(ExecutorService executor, String mode) throws IOException {
+        try (ExecutorService pool = executor;
+             ServerSocket server = new ServerSocket(port, BACKLOG)) {
+            blockingServer = server;
+            startSweeper();
+            System.out.println("RendezvousServer (" + mode + ") listening on port " + port);
+
+            while (!stopped) {
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (IOException e) {
+                    if (stopped) break;
+                    throw e;
+                }
                 pool.submit(() -> handleClient(socket));
             }
         }
     }
 
+    /**
+     * Serves with the given number of selector threads, the calling thread
+     * being one of them. Returns once stop() has been called.
+     */
+    public void startNio(int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one selector thread, got " + threads);
+        }
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(port), BACKLOG);
+            server.configureBlocking(false);
+            startSweeper();
+            System.out.println("RendezvousServer (nio, " + threads + " threads) listening on port " + port);
+
+            List<Thread> workers = new ArrayList<>();
+            synchronized (loops) {
+                for (int i = 0; i < threads; i++) {
+                    loops.add(new RendezvousSelectorLoop(this, server));
+                }
+                for (int i = 1; i < threads; i++) {
+                    Thread t = new Thread(loops.get(i), "rendezvous-nio-" + i);
+                    t.start();
+                    workers.add(t);
+                }
+            }
+            loops.get(0).run();
+            for (Thread t : workers) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // a quarter of the TTL late at most, but no busier than once a second
+    private synchronized void startSweeper() {
+        if (sweeper != null) return;
+        sweeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("rendezvous-sweeper").factory());
+        long period = Math.max(ttlNanos / 4, TimeUnit.SECONDS.toNanos(1));
+        sweeper.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /** Drops every code older than the TTL. */
+    void sweep() {
+        long now = System.nanoTime();
+        synchronized (registryLock) {
+            Iterator<Map.Entry<String, Entry>> oldest = byAge.entrySet().iterator();
+            while (oldest.hasNext()) {
+                Map.Entry<String, Entry> next = oldest.next();
+                if (!expired(next.getValue(), now)) break;
+                registry.remove(next.getKey());
+                oldest.remove();
+            }
+        }
+    }
+
+    int registeredCount() {
+        return registry.size();
+    }
+
+    private boolean expired(Entry e, long now) {
+        return now - e.created >= ttlNanos;
+    }
+
+    /** Stops accepting; start() and startVirtual() return once open connections end. */
+    public void stop() {
+        stopped = true;
+        synchronized (this) {
+            if (sweeper != null) {
+                sweeper.shutdownNow();
+            }
+        }
+        synchronized (loops) {
+            loops.forEach(RendezvousSelectorLoop::stop);
+        }
+        ServerSocket server = blockingServer;
+        if (server != null) {
+            try { server.close(); } catch (IOException ignored) {}
+        }
+    }
+
+    // one request per line until the client hangs up; a pipelined batch gets one flush
     private void handleClient(Socket socket) {
         try (socket;
              BufferedReader in = new BufferedReader(
                      new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
              PrintWriter out = new PrintWriter(
-                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
-
-            String line = in.readLine();
-            if (line == null) return;
-
-            String[] parts = line.trim().split("\\s+");
-            if (parts.length == 0) return;
+                     new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), false)) {
 
-            switch (parts[0]) {
-                case "REG" -> handleRegister(parts, socket, out);
-                case "GET" -> handleGet(parts, out);
-                default -> out.println("ERR Unknown command");
+            String ip = socket.getInetAddress().getHostAddress();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String response = respond(line, ip);
+                if (response != null) {
+                    out.println(response);
+                }
+                if (!in.ready()) {
+                    out.flush();
+                }
             }
+        } catch (SocketException e) {
+            // the client hung up without reading its last answer
         } catch (IOException e) {
             System.out.println("Client error: " + e.getMessage());
         }
     }
 
-    private void handleRegister(String[] parts, Socket socket, PrintWriter out) {
+    /** The response line to one request line from ip, or null if it gets none. */
+    String respond(String line, String ip) {
+        String[] parts = line.trim().split("\\s+");
+        if (parts.length == 0) return null;
+
+        return switch (parts[0]) {
+            case "REG" -> handleRegister(parts, ip);
+            case "GET" -> handleGet(parts);
+            case "DEL" -> handleDelete(parts, ip);
+            default -> "ERR Unknown command";
+        };
+    }
+
+    private String handleRegister(String[] parts, String ip) {
         if (parts.length != 3) {
-            out.println("ERR Usage: REG <code> <port>");
-            return;
+            return "ERR Usage: REG <code> <port>";
         }
         String code = parts[1];
-        int port = Integer.parseInt(parts[2]);
-        String ip = socket.getInetAddress().getHostAddress();
-        registry.put(code, new Entry(ip, port));
-        out.println("OK");
+        int port;
+        try {
+            port = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return "ERR Bad port " + parts[2];
+        }
+        Entry entry = new Entry(ip, port);
+        synchronized (registryLock) {
+            registry.put(code, entry);
+            // re-registering makes the code the youngest
+            byAge.remove(code);
+            byAge.put(code, entry);
+            if (byAge.size() > maxCodes) {
+                Iterator<String> oldest = byAge.keySet().iterator();
+                registry.remove(oldest.next());
+                oldest.remove();
+            }
+        }
         System.out.println("Registered code " + code + " -> " + ip + ":" + port);
+        // the TTL lets hosts refresh in time; clients that only look for OK ignore it
+        return "OK " + TimeUnit.NANOSECONDS.toSeconds(ttlNanos);
+    }
+
+    // lookups are the hot path, so they aren't logged
+    private String handleGet(String[] parts) {
+        if (parts.length != 2) {
+            return "ERR Usage: GET <code>";
+        }
+        Entry e = registry.get(parts[1]);
+        // the sweeper may not have got to it yet
+        return e == null || expired(e, System.nanoTime()) ? "NF" : e.ip + " " + e.port;
     }
 
-    private void handleGet(String[] parts, PrintWriter out) {
+    // only the address that registered a code may delete it
+    private String handleDelete(String[] parts, String ip) {
         if (parts.length != 2) {
-            out.println("ERR Usage: GET <code>");
-            return;
+            return "ERR Usage: DEL <code>";
         }
         String code = parts[1];
-        Entry e = registry.get(code);
-        System.out.println("GET " + code + " -> " + (e == null ? "NF" : e.ip + ":" + e.port));
-        if (e == null) {
-            out.println("NF");
-        } else {
-            out.println(e.ip + " " + e.port);
+        synchronized (registryLock) {
+            Entry e = registry.get(code);
+            if (e == null) {
+                return "NF";
+            }
+            if (!e.ip.equals(ip)) {
+                return "ERR Not the registering host";
+            }
+            registry.remove(code);
+            byAge.remove(code);
         }
+        return "OK";
     }
 
     public static void main(String[] args) throws IOException {
-        new RendezvousServer().start();
+        String mode = "nio";
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        int port = RendezvousConfig.PORT;
+        Duration ttl = DEFAULT_TTL;
+        int maxCodes = DEFAULT_MAX_CODES;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--mode" -> mode = args[i + 1];
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--ttl" -> ttl = Duration.ofSeconds(Long.parseLong(args[i + 1]));
+                case "--max-codes" -> maxCodes = Integer.parseInt(args[i + 1]);
+                default -> System.out.println("Ignoring unknown option " + args[i]);
+            }
+        }
+        RendezvousServer server = new RendezvousServer(port, ttl, maxCodes);
+        switch (mode) {
+            case "blocking" -> server.start();
+            case "virtual" -> server.startVirtual();
+            default -> server.startNio(threads);
+        }
     }
 }